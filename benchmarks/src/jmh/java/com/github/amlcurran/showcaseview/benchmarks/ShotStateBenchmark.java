@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.benchmarks;
+
+import com.github.amlcurran.showcaseview.core.ShotIdFile;
+import com.github.amlcurran.showcaseview.core.ShotStateStorage;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Looking up whether a shot id has been stored, against a stand-in for the SharedPreferences
+ * storage and against the memory-mapped shot id file
+ */
+@State(Scope.Thread)
+public class ShotStateBenchmark {
+
+    @Param({"10", "1000"})
+    public int storedShots;
+
+    private final InMemoryPreferencesStorage preferencesStorage = new InMemoryPreferencesStorage();
+    private File file;
+    private ShotIdFile shotIdFile;
+    private long[] lookups;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        long[] ids = new long[storedShots];
+        for (int i = 0; i < storedShots; i++) {
+            ids[i] = i * 7L;
+            preferencesStorage.storeShot(ids[i]);
+        }
+        file = File.createTempFile("showcase_shots", ".bin");
+        ShotIdFile.write(file, ids);
+        shotIdFile = ShotIdFile.open(file);
+
+        // Half the lookups hit a stored id, half miss
+        lookups = new long[storedShots * 2];
+        for (int i = 0; i < lookups.length; i++) {
+            lookups[i] = i * 7L / 2;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        shotIdFile.close();
+        file.delete();
+    }
+
+    @Benchmark
+    public boolean preferencesLookup() {
+        return preferencesStorage.hasShot(nextLookup());
+    }
+
+    @Benchmark
+    public boolean mappedFileLookup() {
+        return shotIdFile.contains(nextLookup());
+    }
+
+    private long nextLookup() {
+        long shotId = lookups[index];
+        index = (index + 1) % lookups.length;
+        return shotId;
+    }
+
+    /**
+     * Mirrors SharedPreferencesShotStorage, which reads a boolean keyed by a string built from
+     * the shot id. SharedPreferences keeps its values in a HashMap once loaded.
+     */
+    private static class InMemoryPreferencesStorage implements ShotStateStorage {
+
+        private final Map<String, Object> values = new HashMap<String, Object>();
+
+        @Override
+        public boolean hasShot(long shotId) {
+            synchronized (this) {
+                Boolean value = (Boolean) values.get("hasShot" + shotId);
+                return value != null ? value : false;
+            }
+        }
+
+        @Override
+        public void storeShot(long shotId) {
+            synchronized (this) {
+                values.put("hasShot" + shotId, true);
+            }
+        }
+
+    }
+
+}
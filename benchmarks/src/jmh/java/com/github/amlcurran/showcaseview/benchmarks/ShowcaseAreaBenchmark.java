@@ -0,0 +1,45 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.benchmarks;
+
+import com.github.amlcurran.showcaseview.core.ShowcaseArea;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Recalculating the showcase area, which runs on every frame of an animated or tracked move
+ */
+@State(Scope.Thread)
+public class ShowcaseAreaBenchmark {
+
+    private final ShowcaseArea showcaseArea = new ShowcaseArea();
+    private int x;
+
+    @Benchmark
+    public boolean recalculateMoved() {
+        x = (x + 1) % 1080;
+        return showcaseArea.calculate(x, 960, 400, 400);
+    }
+
+    @Benchmark
+    public boolean recalculateUnchanged() {
+        return showcaseArea.calculate(540, 960, 400, 400);
+    }
+
+}
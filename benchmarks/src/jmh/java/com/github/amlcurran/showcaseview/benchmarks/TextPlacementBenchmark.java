@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.benchmarks;
+
+import com.github.amlcurran.showcaseview.core.TextPlacement;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Text placement, which runs whenever the showcase moves to a new target
+ */
+@State(Scope.Thread)
+public class TextPlacementBenchmark {
+
+    private static final int POSITIONS = 64;
+
+    @Param({"480x800", "1080x1920", "1600x2560"})
+    public String screenSize;
+
+    @Param({"-1", "3"})
+    public int forcedPosition;
+
+    private final TextPlacement textPlacement = new TextPlacement(24f, 96f);
+    private final int[] centres = new int[POSITIONS * 2];
+    private int width;
+    private int height;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        String[] size = screenSize.split("x");
+        width = Integer.parseInt(size[0]);
+        height = Integer.parseInt(size[1]);
+        textPlacement.setForcedPosition(forcedPosition);
+        Random random = new Random(42);
+        for (int i = 0; i < centres.length; i += 2) {
+            centres[i] = random.nextInt(width);
+            centres[i + 1] = random.nextInt(height);
+        }
+    }
+
+    @Benchmark
+    public float calculate() {
+        int x = centres[index];
+        int y = centres[index + 1];
+        index = (index + 2) % centres.length;
+        textPlacement.calculate(width, height, false, x - 100, y - 100, x + 100, y + 100);
+        return textPlacement.getWidth();
+    }
+
+    @Benchmark
+    public float calculateCentred() {
+        int x = centres[index];
+        int y = centres[index + 1];
+        index = (index + 2) % centres.length;
+        textPlacement.calculate(width, height, true, x - 100, y - 100, x + 100, y + 100);
+        return textPlacement.getWidth();
+    }
+
+}
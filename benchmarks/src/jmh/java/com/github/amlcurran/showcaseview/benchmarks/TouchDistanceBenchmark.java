@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.benchmarks;
+
+import com.github.amlcurran.showcaseview.core.ShowcaseArea;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * The hit test ShowcaseView makes for every touch event, to decide whether it lands inside the
+ * showcase
+ */
+@State(Scope.Thread)
+public class TouchDistanceBenchmark {
+
+    private static final int TOUCHES = 256;
+
+    private final float[] touches = new float[TOUCHES * 2];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < touches.length; i += 2) {
+            touches[i] = random.nextFloat() * 1080;
+            touches[i + 1] = random.nextFloat() * 1920;
+        }
+    }
+
+    @Benchmark
+    public boolean isOutsideRadius() {
+        float x = touches[index];
+        float y = touches[index + 1];
+        index = (index + 2) % touches.length;
+        return ShowcaseArea.isOutsideRadius(x, y, 540, 960, 200);
+    }
+
+    /**
+     * The hit test as it was before it moved into core, for comparison
+     */
+    @Benchmark
+    public boolean isOutsideRadiusWithSquareRoot() {
+        float x = touches[index];
+        float y = touches[index + 1];
+        index = (index + 2) % touches.length;
+        float xDelta = Math.abs(x - 540);
+        float yDelta = Math.abs(y - 960);
+        double distanceFromFocus = Math.sqrt(Math.pow(xDelta, 2) + Math.pow(yDelta, 2));
+        return distanceFromFocus > 200;
+    }
+
+}
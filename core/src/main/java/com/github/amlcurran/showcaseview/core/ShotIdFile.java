@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A compact binary set of shot ids. The file holds a header, a sorted run of ids which is
+ * memory-mapped and binary searched, and then any ids appended since the file was last
+ * compacted. Adding an id only appends eight bytes; once enough ids have been appended
+ * the file is rewritten with all of them sorted.
+ */
+public class ShotIdFile {
+
+    private static final int MAGIC = 0x53435631; // "SCV1"
+    private static final int HEADER_BYTES = 8;
+    private static final int ID_BYTES = 8;
+    public static final int MAX_APPENDED_IDS = 64;
+
+    private final File file;
+    private RandomAccessFile randomAccessFile;
+    private FileChannel channel;
+    private LongBuffer sortedIds;
+    private long[] appendedIds = new long[MAX_APPENDED_IDS];
+    private int appendedCount;
+    private final ByteBuffer appendBuffer = ByteBuffer.allocate(ID_BYTES);
+
+    private ShotIdFile(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Open the file, creating an empty one if it doesn't exist yet
+     */
+    public static ShotIdFile open(File file) throws IOException {
+        if (!file.exists()) {
+            write(file, new long[0]);
+        }
+        ShotIdFile shotIdFile = new ShotIdFile(file);
+        shotIdFile.map();
+        if (shotIdFile.appendedCount > MAX_APPENDED_IDS) {
+            shotIdFile.compact();
+        }
+        return shotIdFile;
+    }
+
+    /**
+     * Replace the file with one holding the given ids
+     */
+    public static void write(File file, long[] ids) throws IOException {
+        long[] sorted = sortedUnique(ids, ids.length);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + sorted.length * ID_BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(sorted.length);
+        for (long id : sorted) {
+            buffer.putLong(id);
+        }
+        buffer.flip();
+
+        File temp = new File(file.getPath() + ".tmp");
+        RandomAccessFile output = new RandomAccessFile(temp, "rw");
+        try {
+            output.setLength(0);
+            FileChannel outputChannel = output.getChannel();
+            while (buffer.hasRemaining()) {
+                outputChannel.write(buffer);
+            }
+            outputChannel.force(false);
+        } finally {
+            output.close();
+        }
+        if (!temp.renameTo(file)) {
+            throw new IOException("Failed to replace " + file);
+        }
+    }
+
+    public synchronized boolean contains(long shotId) {
+        if (binarySearch(sortedIds, shotId)) {
+            return true;
+        }
+        for (int i = 0; i < appendedCount; i++) {
+            if (appendedIds[i] == shotId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void add(long shotId) throws IOException {
+        if (contains(shotId)) {
+            return;
+        }
+        appendBuffer.clear();
+        appendBuffer.putLong(shotId);
+        appendBuffer.flip();
+        // Written after the last whole id rather than at the end of the file, so that any
+        // partially written id is overwritten
+        long position = HEADER_BYTES + (long) (sortedIds.limit() + appendedCount) * ID_BYTES;
+        while (appendBuffer.hasRemaining()) {
+            position += channel.write(appendBuffer, position);
+        }
+        addAppended(shotId);
+        if (appendedCount > MAX_APPENDED_IDS) {
+            compact();
+        }
+    }
+
+    public synchronized void close() throws IOException {
+        randomAccessFile.close();
+    }
+
+    private void map() throws IOException {
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        channel = randomAccessFile.getChannel();
+        long size = channel.size();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        if (size < HEADER_BYTES || channel.read(header, 0) < HEADER_BYTES || header.getInt(0) != MAGIC) {
+            randomAccessFile.close();
+            throw new IOException("Invalid shot id file " + file);
+        }
+        int sortedCount = header.getInt(4);
+        long sortedBytes = (long) sortedCount * ID_BYTES;
+        if (sortedCount < 0 || HEADER_BYTES + sortedBytes > size) {
+            randomAccessFile.close();
+            throw new IOException("Truncated shot id file " + file);
+        }
+        sortedIds = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, sortedBytes).asLongBuffer();
+
+        // A partially written id at the end of the file is dropped
+        int appended = (int) ((size - HEADER_BYTES - sortedBytes) / ID_BYTES);
+        long end = HEADER_BYTES + sortedBytes + (long) appended * ID_BYTES;
+        if (size > end) {
+            channel.truncate(end);
+        }
+        ByteBuffer tail = ByteBuffer.allocate(appended * ID_BYTES);
+        channel.read(tail, HEADER_BYTES + sortedBytes);
+        tail.flip();
+        appendedCount = 0;
+        while (tail.remaining() >= ID_BYTES) {
+            addAppended(tail.getLong());
+        }
+    }
+
+    private void compact() throws IOException {
+        long[] ids = new long[sortedIds.limit() + appendedCount];
+        sortedIds.get(ids, 0, sortedIds.limit());
+        sortedIds.rewind();
+        System.arraycopy(appendedIds, 0, ids, sortedIds.limit(), appendedCount);
+        randomAccessFile.close();
+        write(file, ids);
+        map();
+    }
+
+    private void addAppended(long shotId) {
+        if (appendedCount == appendedIds.length) {
+            appendedIds = Arrays.copyOf(appendedIds, appendedIds.length * 2);
+        }
+        appendedIds[appendedCount++] = shotId;
+    }
+
+    private static boolean binarySearch(LongBuffer ids, long shotId) {
+        int low = 0;
+        int high = ids.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = ids.get(mid);
+            if (midId < shotId) {
+                low = mid + 1;
+            } else if (midId > shotId) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] sortedUnique(long[] ids, int count) {
+        long[] sorted = Arrays.copyOf(ids, count);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.core;
+
+/**
+ * The area of the screen covered by the showcase, which the text should avoid
+ */
+public class ShowcaseArea {
+
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+
+    /**
+     * Centre an area of the given size on a point
+     *
+     * @return true if the area has changed, false otherwise.
+     */
+    public boolean calculate(int centreX, int centreY, int width, int height) {
+        if (left == centreX - width / 2 && top == centreY - height / 2) {
+            return false;
+        }
+
+        left = centreX - width / 2;
+        top = centreY - height / 2;
+        right = centreX + width / 2;
+        bottom = centreY + height / 2;
+        return true;
+    }
+
+    /**
+     * @return true if the point (x, y) is further than radius from the centre. This compares
+     * squared distances, so it doesn't need a square root.
+     */
+    public static boolean isOutsideRadius(float x, float y, float centreX, float centreY, float radius) {
+        float xDelta = x - centreX;
+        float yDelta = y - centreY;
+        return xDelta * xDelta + yDelta * yDelta > radius * radius;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.core;
+
+/**
+ * Works out where the text should be placed around a showcase, using the largest area of the
+ * screen which the showcase doesn't cover
+ */
+public class TextPlacement {
+
+    public static final int UNDEFINED = -1;
+    public static final int LEFT_OF_SHOWCASE = 0;
+    public static final int ABOVE_SHOWCASE = 1;
+    public static final int RIGHT_OF_SHOWCASE = 2;
+    public static final int BELOW_SHOWCASE = 3;
+
+    private final float padding;
+    private final float actionBarOffset;
+    private int forcedPosition = UNDEFINED;
+
+    private int position = UNDEFINED;
+    private float startX;
+    private float startY;
+    private float width;
+
+    public TextPlacement(float padding, float actionBarOffset) {
+        this.padding = padding;
+        this.actionBarOffset = actionBarOffset;
+    }
+
+    /**
+     * Always place the text in the given position, or pass {@link #UNDEFINED} to use the largest area
+     */
+    public void setForcedPosition(int position) {
+        if (position > BELOW_SHOWCASE || position < UNDEFINED) {
+            throw new IllegalArgumentException("ShowcaseView text was forced with an invalid position");
+        }
+        forcedPosition = position;
+    }
+
+    /**
+     * Calculates the best place to position text
+     *
+     * @param canvasW width of the screen
+     * @param canvasH height of the screen
+     * @param shouldCentreText true if the text should be centred in the area it is placed in
+     */
+    public void calculate(int canvasW, int canvasH, boolean shouldCentreText,
+                          int showcaseLeft, int showcaseTop, int showcaseRight, int showcaseBottom) {
+
+        int largest = forcedPosition;
+        if (largest == UNDEFINED) {
+            largest = findLargestArea(canvasW, canvasH, showcaseLeft, showcaseTop, showcaseRight, showcaseBottom);
+        }
+        position = largest;
+
+        // Position text in largest area
+        switch (largest) {
+            case LEFT_OF_SHOWCASE:
+                startX = padding;
+                startY = padding;
+                width = showcaseLeft - 2 * padding;
+                break;
+            case ABOVE_SHOWCASE:
+                startX = padding;
+                startY = padding + actionBarOffset;
+                width = canvasW - 2 * padding;
+                break;
+            case RIGHT_OF_SHOWCASE:
+                startX = showcaseRight + padding;
+                startY = padding;
+                width = (canvasW - showcaseRight) - 2 * padding;
+                break;
+            case BELOW_SHOWCASE:
+                startX = padding;
+                startY = showcaseBottom + padding;
+                width = canvasW - 2 * padding;
+                break;
+        }
+        if (shouldCentreText) {
+            // Center text vertically or horizontally
+            switch (largest) {
+                case LEFT_OF_SHOWCASE:
+                case RIGHT_OF_SHOWCASE:
+                    startY += canvasH / 4;
+                    break;
+                case ABOVE_SHOWCASE:
+                case BELOW_SHOWCASE:
+                    width /= 2;
+                    startX += canvasW / 4;
+                    break;
+            }
+        } else {
+            // As text is not centered add actionbar padding if the text is left or right
+            switch (largest) {
+                case LEFT_OF_SHOWCASE:
+                case RIGHT_OF_SHOWCASE:
+                    startY += actionBarOffset;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @return which side of the showcase has the most space, one of {@link #LEFT_OF_SHOWCASE},
+     * {@link #ABOVE_SHOWCASE}, {@link #RIGHT_OF_SHOWCASE} or {@link #BELOW_SHOWCASE}
+     */
+    public static int findLargestArea(int canvasW, int canvasH,
+                                      int showcaseLeft, int showcaseTop, int showcaseRight, int showcaseBottom) {
+        int largest = LEFT_OF_SHOWCASE;
+        int largestArea = showcaseLeft * canvasH;
+        int aboveArea = showcaseTop * canvasW;
+        if (aboveArea > largestArea) {
+            largest = ABOVE_SHOWCASE;
+            largestArea = aboveArea;
+        }
+        int rightArea = (canvasW - showcaseRight) * canvasH;
+        if (rightArea > largestArea) {
+            largest = RIGHT_OF_SHOWCASE;
+            largestArea = rightArea;
+        }
+        int belowArea = (canvasH - showcaseBottom) * canvasW;
+        if (belowArea > largestArea) {
+            largest = BELOW_SHOWCASE;
+        }
+        return largest;
+    }
+
+    /**
+     * @return the position the text was last placed in, or {@link #UNDEFINED} if it hasn't been yet
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public float getStartX() {
+        return startX;
+    }
+
+    public float getStartY() {
+        return startY;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+}
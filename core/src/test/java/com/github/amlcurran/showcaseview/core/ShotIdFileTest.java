@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ShotIdFileTest {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int ID_BYTES = 8;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "shots.bin");
+    }
+
+    @Test
+    public void writtenIdsAreFoundWhenOpened() throws IOException {
+        ShotIdFile.write(file, new long[]{30, 10, 20, 10});
+
+        ShotIdFile shotIdFile = ShotIdFile.open(file);
+
+        assertTrue(shotIdFile.contains(10));
+        assertTrue(shotIdFile.contains(20));
+        assertTrue(shotIdFile.contains(30));
+        assertFalse(shotIdFile.contains(15));
+        assertEquals(HEADER_BYTES + 3 * ID_BYTES, file.length());
+        shotIdFile.close();
+    }
+
+    @Test
+    public void openingAMissingFileCreatesAnEmptyOne() throws IOException {
+        ShotIdFile shotIdFile = ShotIdFile.open(file);
+
+        assertTrue(file.exists());
+        assertFalse(shotIdFile.contains(0));
+        shotIdFile.close();
+    }
+
+    @Test
+    public void addedIdsAreFoundAfterReopening() throws IOException {
+        ShotIdFile.write(file, new long[]{1, 2});
+        ShotIdFile shotIdFile = ShotIdFile.open(file);
+
+        shotIdFile.add(5);
+        shotIdFile.add(-3);
+        shotIdFile.add(5);
+        assertTrue(shotIdFile.contains(5));
+        shotIdFile.close();
+
+        ShotIdFile reopened = ShotIdFile.open(file);
+        assertTrue(reopened.contains(1));
+        assertTrue(reopened.contains(2));
+        assertTrue(reopened.contains(5));
+        assertTrue(reopened.contains(-3));
+        assertFalse(reopened.contains(3));
+        assertEquals(HEADER_BYTES + 4 * ID_BYTES, file.length());
+        reopened.close();
+    }
+
+    @Test
+    public void appendingMoreThanTheLimitCompactsTheFile() throws IOException {
+        ShotIdFile shotIdFile = ShotIdFile.open(file);
+        int count = ShotIdFile.MAX_APPENDED_IDS + 10;
+        for (int i = count; i > 0; i--) {
+            shotIdFile.add(i * 7);
+        }
+        shotIdFile.close();
+
+        assertEquals(HEADER_BYTES + count * ID_BYTES, file.length());
+        // The file was compacted on the append after the limit, and the rest were appended
+        assertEquals(ShotIdFile.MAX_APPENDED_IDS + 1, readSortedCount(file));
+
+        ShotIdFile reopened = ShotIdFile.open(file);
+        for (int i = 1; i <= count; i++) {
+            assertTrue(reopened.contains(i * 7));
+        }
+        assertFalse(reopened.contains(8));
+        reopened.close();
+    }
+
+    @Test
+    public void aTornAppendIsDroppedAndOverwritten() throws IOException {
+        ShotIdFile.write(file, new long[]{1});
+        ShotIdFile shotIdFile = ShotIdFile.open(file);
+        shotIdFile.add(2);
+        shotIdFile.close();
+
+        // Simulate a crash part way through writing another id
+        appendBytes(file, new byte[]{1, 2, 3});
+        assertEquals(HEADER_BYTES + 2 * ID_BYTES + 3, file.length());
+
+        ShotIdFile reopened = ShotIdFile.open(file);
+        assertEquals(HEADER_BYTES + 2 * ID_BYTES, file.length());
+        reopened.add(3);
+        reopened.add(4);
+        reopened.close();
+
+        ShotIdFile afterTear = ShotIdFile.open(file);
+        assertTrue(afterTear.contains(1));
+        assertTrue(afterTear.contains(2));
+        assertTrue(afterTear.contains(3));
+        assertTrue(afterTear.contains(4));
+        assertEquals(HEADER_BYTES + 4 * ID_BYTES, file.length());
+        afterTear.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void aBadMagicNumberIsRejected() throws IOException {
+        ShotIdFile.write(file, new long[]{1});
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        output.writeInt(0x12345678);
+        output.close();
+
+        ShotIdFile.open(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void aShortHeaderIsRejected() throws IOException {
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        output.writeShort(1);
+        output.close();
+
+        ShotIdFile.open(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void aSortedCountBeyondTheFileIsRejected() throws IOException {
+        ShotIdFile.write(file, new long[]{1});
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        output.seek(4);
+        output.writeInt(2);
+        output.close();
+
+        ShotIdFile.open(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void aNegativeSortedCountIsRejected() throws IOException {
+        ShotIdFile.write(file, new long[]{1});
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        output.seek(4);
+        output.writeInt(-1);
+        output.close();
+
+        ShotIdFile.open(file);
+    }
+
+    private static int readSortedCount(File file) throws IOException {
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            input.seek(4);
+            return input.readInt();
+        } finally {
+            input.close();
+        }
+    }
+
+    private static void appendBytes(File file, byte[] bytes) throws IOException {
+        RandomAccessFile output = new RandomAccessFile(file, "rw");
+        try {
+            output.seek(output.length());
+            output.write(bytes);
+        } finally {
+            output.close();
+        }
+    }
+
+}
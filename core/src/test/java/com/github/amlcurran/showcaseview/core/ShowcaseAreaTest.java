@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that ShowcaseArea matches the maths ShowcaseAreaCalculator and ShowcaseView#onTouch
+ * used before it was moved out of them
+ */
+public class ShowcaseAreaTest {
+
+    private static final int[][] SIZES = {{0, 0}, {100, 100}, {101, 57}, {288, 288}};
+    private static final int[][] CENTRES = {{0, 0}, {50, 50}, {540, 960}, {-20, 33}, {1079, 1919}};
+
+    @Test
+    public void matchesThePreviousAreaForEachSizeAndCentre() {
+        for (int[] size : SIZES) {
+            ShowcaseArea area = new ShowcaseArea();
+            int[] legacyArea = new int[4];
+            for (int[] centre : CENTRES) {
+                boolean expectedChanged = legacyCalculate(centre[0], centre[1], size[0], size[1], legacyArea);
+
+                boolean changed = area.calculate(centre[0], centre[1], size[0], size[1]);
+
+                String description = "size " + size[0] + "x" + size[1] + ", centre " + centre[0] + "," + centre[1];
+                assertEquals(description, expectedChanged, changed);
+                assertEquals(description, legacyArea[0], area.getLeft());
+                assertEquals(description, legacyArea[1], area.getTop());
+                assertEquals(description, legacyArea[2], area.getRight());
+                assertEquals(description, legacyArea[3], area.getBottom());
+            }
+        }
+    }
+
+    @Test
+    public void calculatingTheSameAreaAgainReportsNoChange() {
+        ShowcaseArea area = new ShowcaseArea();
+
+        assertTrue(area.calculate(300, 400, 100, 100));
+        assertFalse(area.calculate(300, 400, 100, 100));
+        assertTrue(area.calculate(301, 400, 100, 100));
+    }
+
+    @Test
+    public void matchesThePreviousTouchDistanceCheck() {
+        float radius = 94.5f;
+        float[][] touches = {{0, 0}, {94.5f, 0}, {94.6f, 0}, {66.8f, 66.8f}, {66.9f, 66.9f}, {-200, 13}, {0, -94.5f}};
+        for (float[] touch : touches) {
+            float x = 500 + touch[0];
+            float y = 700 + touch[1];
+
+            float xDelta = Math.abs(x - 500);
+            float yDelta = Math.abs(y - 700);
+            double distanceFromFocus = Math.sqrt(Math.pow(xDelta, 2) + Math.pow(yDelta, 2));
+            boolean expected = distanceFromFocus > radius;
+
+            assertEquals("touch at " + touch[0] + "," + touch[1], expected,
+                    ShowcaseArea.isOutsideRadius(x, y, 500, 700, radius));
+        }
+    }
+
+    /**
+     * ShowcaseAreaCalculator#calculateShowcaseRect as it was before ShowcaseArea existed, with
+     * the Rect swapped for an array of left, top, right and bottom
+     */
+    private static boolean legacyCalculate(float x, float y, int dw, int dh, int[] mShowcaseRect) {
+        int cx = (int) x, cy = (int) y;
+
+        if (mShowcaseRect[0] == cx - dw / 2 && mShowcaseRect[1] == cy - dh / 2) {
+            return false;
+        }
+
+        mShowcaseRect[0] = cx - dw / 2;
+        mShowcaseRect[1] = cy - dh / 2;
+        mShowcaseRect[2] = cx + dw / 2;
+        mShowcaseRect[3] = cy + dh / 2;
+
+        return true;
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.core;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that TextPlacement places text exactly where TextDrawer did before the maths was moved
+ * out of it. The previous implementation is kept below, with Rect swapped for its four ints.
+ */
+public class TextPlacementTest {
+
+    private static final float PADDING = 24f;
+    private static final float ACTION_BAR_OFFSET = 128f;
+    private static final int[][] CANVASES = {{480, 800}, {1080, 1920}, {1920, 1080}};
+    private static final int[] FORCED_POSITIONS = {
+            TextPlacement.UNDEFINED,
+            TextPlacement.LEFT_OF_SHOWCASE,
+            TextPlacement.ABOVE_SHOWCASE,
+            TextPlacement.RIGHT_OF_SHOWCASE,
+            TextPlacement.BELOW_SHOWCASE
+    };
+
+    @Test
+    public void matchesThePreviousPlacementForEveryPosition() {
+        for (int[] canvas : CANVASES) {
+            int width = canvas[0];
+            int height = canvas[1];
+            int[][] showcases = {
+                    // Top left, top right, bottom left, bottom right and centre
+                    {0, 0, 200, 200},
+                    {width - 200, 0, width, 200},
+                    {0, height - 200, 200, height},
+                    {width - 200, height - 200, width, height},
+                    {width / 2 - 100, height / 2 - 100, width / 2 + 100, height / 2 + 100},
+                    // What ShowcaseView uses when there is no showcase
+                    {0, 0, 0, 0}
+            };
+            for (int[] showcase : showcases) {
+                for (int forcedPosition : FORCED_POSITIONS) {
+                    assertSamePlacement(width, height, false, forcedPosition, showcase);
+                    assertSamePlacement(width, height, true, forcedPosition, showcase);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void placesTextInTheLargestArea() {
+        assertEquals(TextPlacement.BELOW_SHOWCASE, TextPlacement.findLargestArea(1080, 1920, 440, 0, 640, 200));
+        assertEquals(TextPlacement.ABOVE_SHOWCASE, TextPlacement.findLargestArea(1080, 1920, 440, 1720, 640, 1920));
+        assertEquals(TextPlacement.RIGHT_OF_SHOWCASE, TextPlacement.findLargestArea(1920, 1080, 0, 440, 200, 640));
+        assertEquals(TextPlacement.LEFT_OF_SHOWCASE, TextPlacement.findLargestArea(1920, 1080, 1720, 440, 1920, 640));
+    }
+
+    @Test
+    public void thePositionIsUndefinedUntilCalculated() {
+        TextPlacement placement = new TextPlacement(PADDING, ACTION_BAR_OFFSET);
+
+        assertEquals(TextPlacement.UNDEFINED, placement.getPosition());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void anInvalidForcedPositionIsRejected() {
+        new TextPlacement(PADDING, ACTION_BAR_OFFSET).setForcedPosition(TextPlacement.BELOW_SHOWCASE + 1);
+    }
+
+    private static void assertSamePlacement(int canvasW, int canvasH, boolean centreText, int forcedPosition,
+                                            int[] showcase) {
+        TextPlacement placement = new TextPlacement(PADDING, ACTION_BAR_OFFSET);
+        placement.setForcedPosition(forcedPosition);
+        placement.calculate(canvasW, canvasH, centreText, showcase[0], showcase[1], showcase[2], showcase[3]);
+
+        float[] expected = new float[3];
+        int expectedPosition = legacyCalculate(canvasW, canvasH, centreText, forcedPosition, showcase, expected);
+
+        String description = canvasW + "x" + canvasH + ", showcase " + showcase[0] + "," + showcase[1] + ","
+                + showcase[2] + "," + showcase[3] + ", forced " + forcedPosition + ", centred " + centreText;
+        assertEquals(description, expectedPosition, placement.getPosition());
+        assertEquals(description, expected[0], placement.getStartX(), 0f);
+        assertEquals(description, expected[1], placement.getStartY(), 0f);
+        assertEquals(description, expected[2], placement.getWidth(), 0f);
+    }
+
+    /**
+     * TextDrawer#calculateTextPosition as it was before TextPlacement existed
+     */
+    private static int legacyCalculate(int canvasW, int canvasH, boolean shouldCentreText, int forcedTextPosition,
+                                       int[] showcase, float[] mBestTextPosition) {
+        int left = showcase[0];
+        int top = showcase[1];
+        int right = showcase[2];
+        int bottom = showcase[3];
+
+        int[] areas = new int[4]; //left, top, right, bottom
+        areas[TextPlacement.LEFT_OF_SHOWCASE] = left * canvasH;
+        areas[TextPlacement.ABOVE_SHOWCASE] = top * canvasW;
+        areas[TextPlacement.RIGHT_OF_SHOWCASE] = (canvasW - right) * canvasH;
+        areas[TextPlacement.BELOW_SHOWCASE] = (canvasH - bottom) * canvasW;
+
+        int largest = 0;
+        for (int i = 1; i < areas.length; i++) {
+            if (areas[i] > areas[largest])
+                largest = i;
+        }
+
+        if (forcedTextPosition != TextPlacement.UNDEFINED) {
+            largest = forcedTextPosition;
+        }
+
+        // Position text in largest area
+        switch (largest) {
+            case TextPlacement.LEFT_OF_SHOWCASE:
+                mBestTextPosition[0] = PADDING;
+                mBestTextPosition[1] = PADDING;
+                mBestTextPosition[2] = left - 2 * PADDING;
+                break;
+            case TextPlacement.ABOVE_SHOWCASE:
+                mBestTextPosition[0] = PADDING;
+                mBestTextPosition[1] = PADDING + ACTION_BAR_OFFSET;
+                mBestTextPosition[2] = canvasW - 2 * PADDING;
+                break;
+            case TextPlacement.RIGHT_OF_SHOWCASE:
+                mBestTextPosition[0] = right + PADDING;
+                mBestTextPosition[1] = PADDING;
+                mBestTextPosition[2] = (canvasW - right) - 2 * PADDING;
+                break;
+            case TextPlacement.BELOW_SHOWCASE:
+                mBestTextPosition[0] = PADDING;
+                mBestTextPosition[1] = bottom + PADDING;
+                mBestTextPosition[2] = canvasW - 2 * PADDING;
+                break;
+        }
+        if (shouldCentreText) {
+            // Center text vertically or horizontally
+            switch (largest) {
+                case TextPlacement.LEFT_OF_SHOWCASE:
+                case TextPlacement.RIGHT_OF_SHOWCASE:
+                    mBestTextPosition[1] += canvasH / 4;
+                    break;
+                case TextPlacement.ABOVE_SHOWCASE:
+                case TextPlacement.BELOW_SHOWCASE:
+                    mBestTextPosition[2] /= 2;
+                    mBestTextPosition[0] += canvasW / 4;
+                    break;
+            }
+        } else {
+            // As text is not centered add actionbar padding if the text is left or right
+            switch (largest) {
+                case TextPlacement.LEFT_OF_SHOWCASE:
+                case TextPlacement.RIGHT_OF_SHOWCASE:
+                    mBestTextPosition[1] += ACTION_BAR_OFFSET;
+                    break;
+            }
+        }
+        return largest;
+    }
+
+}
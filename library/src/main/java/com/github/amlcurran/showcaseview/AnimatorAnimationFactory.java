@@ -17,9 +17,10 @@
 package com.github.amlcurran.showcaseview;
 
 import android.animation.AnimatorListenerAdapter;
+import android.animation.TypeEvaluator;
+import android.animation.ValueAnimator;
 import android.os.Build.VERSION_CODES;
 import android.animation.Animator;
-import android.animation.AnimatorSet;
 import android.animation.ObjectAnimator;
 import android.annotation.TargetApi;
 import android.graphics.Point;
@@ -32,8 +33,13 @@ class AnimatorAnimationFactory implements AnimationFactory {
     private static final String ALPHA = "alpha";
     private static final float INVISIBLE = 0f;
     private static final float VISIBLE = 1f;
+    private static final String TRACE_FADE_IN = "ShowcaseView#fadeIn";
+    private static final String TRACE_FADE_OUT = "ShowcaseView#fadeOut";
+    private static final String TRACE_MOVE = "ShowcaseView#moveShowcase";
 
     private final AccelerateDecelerateInterpolator interpolator;
+    private final PointEvaluator pointEvaluator = new PointEvaluator();
+    private ValueAnimator targetAnimator;
 
     public AnimatorAnimationFactory() {
         interpolator = new AccelerateDecelerateInterpolator();
@@ -41,6 +47,8 @@ class AnimatorAnimationFactory implements AnimationFactory {
 
     @Override
     public void fadeInView(View target, long duration, final AnimationStartListener listener) {
+        final int cookie = System.identityHashCode(target);
+        final boolean traced = ShowcaseTrace.beginAsyncSection(TRACE_FADE_IN, cookie);
         ObjectAnimator oa = ObjectAnimator.ofFloat(target, ALPHA, INVISIBLE, VISIBLE);
         oa.setDuration(duration).addListener(new AnimatorListenerAdapter() {
 
@@ -49,17 +57,25 @@ class AnimatorAnimationFactory implements AnimationFactory {
                 listener.onAnimationStart();
             }
 
+            @Override
+            public void onAnimationEnd(Animator animator) {
+                ShowcaseTrace.endAsyncSection(traced, TRACE_FADE_IN, cookie);
+            }
+
         });
         oa.start();
     }
 
     @Override
     public void fadeOutView(View target, long duration, final AnimationEndListener listener) {
+        final int cookie = System.identityHashCode(target);
+        final boolean traced = ShowcaseTrace.beginAsyncSection(TRACE_FADE_OUT, cookie);
         ObjectAnimator oa = ObjectAnimator.ofFloat(target, ALPHA, INVISIBLE);
         oa.setDuration(duration).addListener(new AnimatorListenerAdapter() {
 
             @Override
             public void onAnimationEnd(Animator animator) {
+                ShowcaseTrace.endAsyncSection(traced, TRACE_FADE_OUT, cookie);
                 listener.onAnimationEnd();
             }
 
@@ -68,13 +84,54 @@ class AnimatorAnimationFactory implements AnimationFactory {
     }
 
     @Override
-    public void animateTargetToPoint(ShowcaseView showcaseView, Point point) {
-        AnimatorSet set = new AnimatorSet();
-        ObjectAnimator xAnimator = ObjectAnimator.ofInt(showcaseView, "showcaseX", point.x);
-        ObjectAnimator yAnimator = ObjectAnimator.ofInt(showcaseView, "showcaseY", point.y);
-        set.playTogether(xAnimator, yAnimator);
-        set.setInterpolator(interpolator);
-        set.start();
+    public void animateTargetToPoint(final ShowcaseView showcaseView, Point point) {
+        if (targetAnimator != null) {
+            targetAnimator.cancel();
+        }
+        final int cookie = System.identityHashCode(showcaseView);
+        final boolean traced = ShowcaseTrace.beginAsyncSection(TRACE_MOVE, cookie);
+        Point start = showcaseView.getShowcasePointInWindow();
+        targetAnimator = ValueAnimator.ofObject(pointEvaluator, start, new Point(point.x, point.y));
+        targetAnimator.setInterpolator(interpolator);
+        targetAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+            @Override
+            public void onAnimationUpdate(ValueAnimator animation) {
+                Point current = (Point) animation.getAnimatedValue();
+                showcaseView.setShowcasePosition(current.x, current.y);
+            }
+        });
+        targetAnimator.addListener(new AnimatorListenerAdapter() {
+
+            @Override
+            public void onAnimationStart(Animator animation) {
+                showcaseView.onShowcaseMoveStarted();
+            }
+
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                showcaseView.onShowcaseMoveEnded();
+                ShowcaseTrace.endAsyncSection(traced, TRACE_MOVE, cookie);
+            }
+
+        });
+        targetAnimator.start();
+    }
+
+    /**
+     * Interpolates both co-ordinates of a point at once, reusing the same output point
+     * for every frame
+     */
+    private static class PointEvaluator implements TypeEvaluator<Point> {
+
+        private final Point point = new Point();
+
+        @Override
+        public Point evaluate(float fraction, Point startValue, Point endValue) {
+            point.x = startValue.x + Math.round((endValue.x - startValue.x) * fraction);
+            point.y = startValue.y + Math.round((endValue.y - startValue.y) * fraction);
+            return point;
+        }
+
     }
 
 }
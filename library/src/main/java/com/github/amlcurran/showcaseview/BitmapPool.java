@@ -0,0 +1,156 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Process-wide pool of the full-screen buffers used by ShowcaseViews. When ShowcaseViews are
+ * chained, the buffer of the one which just hid is handed to the next one rather than being
+ * recycled and allocated again. Buffers which aren't reused within a short time are recycled.
+ */
+class BitmapPool {
+
+    private static final long TRIM_DELAY_MILLIS = 5000;
+    private static BitmapPool instance;
+
+    private final List<Bitmap> pooled = new ArrayList<Bitmap>();
+    private final ApiUtils apiUtils = new ApiUtils();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final long maxPooledBytes;
+    private long pooledBytes;
+    private int createdCount;
+
+    BitmapPool(long maxPooledBytes) {
+        this.maxPooledBytes = maxPooledBytes;
+    }
+
+    static synchronized BitmapPool getInstance() {
+        if (instance == null) {
+            instance = new BitmapPool(Runtime.getRuntime().maxMemory() / 16);
+        }
+        return instance;
+    }
+
+    /**
+     * Get a mutable bitmap of the given size and config. Its contents are undefined, so it
+     * must be erased before use.
+     */
+    synchronized Bitmap acquire(int width, int height, Bitmap.Config config) {
+        for (int i = 0; i < pooled.size(); i++) {
+            Bitmap bitmap = pooled.get(i);
+            if (bitmap.getWidth() == width && bitmap.getHeight() == height && bitmap.getConfig() == config) {
+                return take(i);
+            }
+        }
+        if (apiUtils.isCompatWith(Build.VERSION_CODES.KITKAT)) {
+            long requiredBytes = (long) width * height * bytesPerPixel(config);
+            for (int i = 0; i < pooled.size(); i++) {
+                if (byteCount(pooled.get(i)) >= requiredBytes) {
+                    Bitmap bitmap = take(i);
+                    reconfigure(bitmap, width, height, config);
+                    return bitmap;
+                }
+            }
+        }
+        createdCount++;
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * @return the number of bitmaps the pool has had to create, rather than reuse
+     */
+    synchronized int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Return a bitmap to the pool. The caller must not use the bitmap afterwards.
+     */
+    synchronized void release(Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        long size = byteCount(bitmap);
+        if (!bitmap.isMutable() || size > maxPooledBytes) {
+            bitmap.recycle();
+            return;
+        }
+        while (pooledBytes + size > maxPooledBytes && !pooled.isEmpty()) {
+            take(0).recycle();
+        }
+        pooled.add(bitmap);
+        pooledBytes += size;
+        handler.removeCallbacks(trimRunnable);
+        handler.postDelayed(trimRunnable, TRIM_DELAY_MILLIS);
+    }
+
+    /**
+     * Recycle all of the bitmaps currently held by the pool
+     */
+    synchronized void clear() {
+        while (!pooled.isEmpty()) {
+            take(0).recycle();
+        }
+    }
+
+    private Bitmap take(int index) {
+        Bitmap bitmap = pooled.remove(index);
+        pooledBytes -= byteCount(bitmap);
+        return bitmap;
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static void reconfigure(Bitmap bitmap, int width, int height, Bitmap.Config config) {
+        bitmap.reconfigure(width, height, config);
+    }
+
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private long byteCount(Bitmap bitmap) {
+        if (apiUtils.isCompatWith(Build.VERSION_CODES.KITKAT)) {
+            return bitmap.getAllocationByteCount();
+        }
+        return (long) bitmap.getRowBytes() * bitmap.getHeight();
+    }
+
+    private static int bytesPerPixel(Bitmap.Config config) {
+        switch (config) {
+            case ALPHA_8:
+                return 1;
+            case RGB_565:
+            case ARGB_4444:
+                return 2;
+            default:
+                return 4;
+        }
+    }
+
+    private final Runnable trimRunnable = new Runnable() {
+        @Override
+        public void run() {
+            clear();
+        }
+    };
+
+}
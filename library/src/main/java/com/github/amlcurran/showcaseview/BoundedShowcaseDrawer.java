@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Rect;
+
+/**
+ * A {@link ShowcaseDrawer} which can report the area its showcase covers. When the showcase
+ * moves, the ShowcaseView then only invalidates the old and new areas rather than the whole
+ * screen. Drawers which don't implement this cause a full invalidation.
+ */
+public interface BoundedShowcaseDrawer extends ShowcaseDrawer {
+
+    /**
+     * Calculate the area which drawing a showcase at the given point touches
+     * @param x the x position of the point to showcase
+     * @param y the y position of the point to showcase
+     * @param scaleMultiplier a scale factor. Currently unused
+     * @param outBounds set to the area covered by the showcase, including any anti-aliasing
+     */
+    void getDirtyBounds(float x, float y, float scaleMultiplier, Rect outBounds);
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Canvas;
+
+/**
+ * A {@link ShowcaseDrawer} which can also draw straight onto the ShowcaseView's canvas, so
+ * that no offscreen bitmap buffer is needed. Used when the ShowcaseView is set to
+ * {@link ShowcaseView#RENDERING_DIRECT}.
+ */
+public interface CanvasShowcaseDrawer extends ShowcaseDrawer {
+
+    /**
+     * Fill the canvas with the background color. The canvas is an isolated layer, so
+     * this behaves like {@link #erase(android.graphics.Bitmap)} does for a bitmap buffer
+     * @param canvas the layer to erase
+     */
+    void erase(Canvas canvas);
+
+    /**
+     * Draw the showcase onto the layer erased by {@link #erase(Canvas)}
+     * @param canvas the layer to draw onto
+     * @param x the x position of the point to showcase
+     * @param y the y position of the point to showcase
+     * @param scaleMultiplier a scale factor. Currently unused
+     */
+    void drawShowcase(Canvas canvas, float x, float y, float scaleMultiplier);
+
+}
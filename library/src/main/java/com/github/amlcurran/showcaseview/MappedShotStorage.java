@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import com.github.amlcurran.showcaseview.core.ShotIdFile;
+import com.github.amlcurran.showcaseview.core.ShotStateStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Storage which keeps shot ids in a memory-mapped {@link ShotIdFile}, so that lookups and
+ * writes stay cheap however many ids have been stored. The first time it is used, ids stored
+ * by {@link SharedPreferencesShotStorage} are copied across.
+ * <p/>
+ * The file is opened, and written to, on the {@link BackgroundExecutor}. As that runs one task
+ * at a time in order, writes always happen after the file is opened. If the file can't be
+ * opened, SharedPreferences is used instead.
+ */
+class MappedShotStorage implements ShotStateStorage {
+
+    private static final String FILE_NAME = "showcase_shots.bin";
+    private static MappedShotStorage instance;
+
+    private final FutureTask<ShotIdFile> openTask;
+    private final SharedPreferencesShotStorage fallbackStorage;
+
+    private MappedShotStorage(final Context context) {
+        fallbackStorage = new SharedPreferencesShotStorage(context);
+        openTask = new FutureTask<ShotIdFile>(new Callable<ShotIdFile>() {
+            @Override
+            public ShotIdFile call() {
+                return openFile(context);
+            }
+        });
+        BackgroundExecutor.get().execute(openTask);
+    }
+
+    /**
+     * @return the process-wide storage. The file starts opening in the background the first
+     * time this is called.
+     */
+    static synchronized MappedShotStorage getInstance(Context context) {
+        if (instance == null) {
+            instance = new MappedShotStorage(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Open the storage ahead of time, if the app has already used it
+     */
+    static void preload(Context context) {
+        if (new File(context.getFilesDir(), FILE_NAME).exists()) {
+            getInstance(context);
+        }
+    }
+
+    /**
+     * Waits for the file to be opened if it hasn't been yet, which it usually has by the time a
+     * ShowcaseView is built
+     */
+    @Override
+    public boolean hasShot(long shotId) {
+        ShotIdFile shotIdFile = awaitFile();
+        if (shotIdFile == null) {
+            return fallbackStorage.hasShot(shotId);
+        }
+        return shotIdFile.contains(shotId);
+    }
+
+    @Override
+    public void storeShot(final long shotId) {
+        BackgroundExecutor.get().execute(new Runnable() {
+            @Override
+            public void run() {
+                ShotIdFile shotIdFile = awaitFile();
+                if (shotIdFile == null) {
+                    fallbackStorage.storeShot(shotId);
+                    return;
+                }
+                try {
+                    shotIdFile.add(shotId);
+                } catch (IOException e) {
+                    Log.e("ShowcaseView", "Failed to store shot " + shotId, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the opened file, or null if it couldn't be opened
+     */
+    private ShotIdFile awaitFile() {
+        try {
+            return openTask.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            Log.e("ShowcaseView", "Failed to open shot id file", e.getCause());
+            return null;
+        }
+    }
+
+    private static ShotIdFile openFile(Context context) {
+        boolean traced = ShowcaseTrace.beginSection("ShowcaseView#openShotFile");
+        File file = new File(context.getFilesDir(), FILE_NAME);
+        try {
+            if (!file.exists()) {
+                migrateFromPreferences(context, file);
+            }
+            return ShotIdFile.open(file);
+        } catch (IOException e) {
+            Log.e("ShowcaseView", "Failed to open shot id file", e);
+            return null;
+        } finally {
+            ShowcaseTrace.endSection(traced);
+        }
+    }
+
+    private static void migrateFromPreferences(Context context, File file) throws IOException {
+        SharedPreferences preferences = new SharedPreferencesShotStorage(context).getPreferences();
+        Map<String, ?> values = preferences.getAll();
+        long[] ids = new long[values.size()];
+        int count = 0;
+        for (Map.Entry<String, ?> entry : values.entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(SharedPreferencesShotStorage.KEY_PREFIX) && Boolean.TRUE.equals(entry.getValue())) {
+                try {
+                    ids[count] = Long.parseLong(key.substring(SharedPreferencesShotStorage.KEY_PREFIX.length()));
+                    count++;
+                } catch (NumberFormatException e) {
+                    Log.w("ShowcaseView", "Ignoring unexpected key " + key);
+                }
+            }
+        }
+        ShotIdFile.write(file, Arrays.copyOf(ids, count));
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Canvas;
+
+/**
+ * A {@link ShowcaseDrawer} which can describe its showcase as a coverage mask. Used when the
+ * ShowcaseView is set to {@link ShowcaseView#RENDERING_ALPHA_MASK}, where the buffer only holds
+ * one byte of alpha per pixel and the background color is applied when the buffer is drawn.
+ * Because the mask doesn't contain any color, changing the colors doesn't re-draw the mask.
+ */
+public interface MaskShowcaseDrawer extends ShowcaseDrawer {
+
+    /**
+     * Cut the showcase out of the mask. The mask starts fully opaque, and the background color
+     * is drawn wherever it is left opaque. Only the alpha of what is drawn has any effect.
+     * @param mask a canvas onto an alpha-only bitmap
+     * @param x the x position of the point to showcase
+     * @param y the y position of the point to showcase
+     * @param scaleMultiplier a scale factor. Currently unused
+     */
+    void drawShowcaseMask(Canvas mask, float x, float y, float scaleMultiplier);
+
+    /**
+     * Draw the colored parts of the showcase, which can't be part of the mask, over the
+     * background. Called on every frame after the mask has been drawn, so should be cheap.
+     * @param canvas the ShowcaseView's canvas
+     * @param x the x position of the point to showcase
+     * @param y the y position of the point to showcase
+     * @param scaleMultiplier a scale factor. Currently unused
+     */
+    void drawShowcaseOverlay(Canvas canvas, float x, float y, float scaleMultiplier);
+
+}
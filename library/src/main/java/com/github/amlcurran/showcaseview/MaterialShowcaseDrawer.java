@@ -6,8 +6,9 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
 
-public class MaterialShowcaseDrawer implements ShowcaseDrawer {
+public class MaterialShowcaseDrawer implements CanvasShowcaseDrawer, BoundedShowcaseDrawer, MaskShowcaseDrawer {
 
     private final float radius;
     private final Paint basicPaint;
@@ -22,6 +23,7 @@ public class MaterialShowcaseDrawer implements ShowcaseDrawer {
         this.eraserPaint.setXfermode(new PorterDuffXfermode(PorterDuff.Mode.MULTIPLY));
         this.eraserPaint.setAntiAlias(true);
         this.basicPaint = new Paint();
+        this.basicPaint.setFilterBitmap(true);
     }
 
     @Override
@@ -31,8 +33,27 @@ public class MaterialShowcaseDrawer implements ShowcaseDrawer {
 
     @Override
     public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier) {
-        Canvas bufferCanvas = new Canvas(buffer);
-        bufferCanvas.drawCircle(x, y, radius, eraserPaint);
+        drawShowcase(new Canvas(buffer), x, y, scaleMultiplier);
+    }
+
+    @Override
+    public void drawShowcase(Canvas canvas, float x, float y, float scaleMultiplier) {
+        drawShowcaseMask(canvas, x, y, scaleMultiplier);
+    }
+
+    @Override
+    public void drawShowcaseMask(Canvas mask, float x, float y, float scaleMultiplier) {
+        mask.drawCircle(x, y, radius, eraserPaint);
+    }
+
+    @Override
+    public void drawShowcaseOverlay(Canvas canvas, float x, float y, float scaleMultiplier) {
+        // no-op
+    }
+
+    @Override
+    public void getDirtyBounds(float x, float y, float scaleMultiplier, Rect outBounds) {
+        StandardShowcaseDrawer.getCircleBounds(x, y, radius, outBounds);
     }
 
     @Override
@@ -60,6 +81,11 @@ public class MaterialShowcaseDrawer implements ShowcaseDrawer {
         bitmapBuffer.eraseColor(backgroundColor);
     }
 
+    @Override
+    public void erase(Canvas canvas) {
+        canvas.drawColor(backgroundColor, PorterDuff.Mode.SRC);
+    }
+
     @Override
     public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
         canvas.drawBitmap(bitmapBuffer, 0, 0, basicPaint);
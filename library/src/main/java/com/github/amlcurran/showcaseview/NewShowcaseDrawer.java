@@ -17,33 +17,72 @@
 package com.github.amlcurran.showcaseview;
 
 import android.content.res.Resources;
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
 
 class NewShowcaseDrawer extends StandardShowcaseDrawer {
 
     private static final int ALPHA_60_PERCENT = 153;
     private final float outerRadius;
     private final float innerRadius;
+    private final Paint ringPaint;
 
     public NewShowcaseDrawer(Resources resources, Resources.Theme theme) {
         super(resources, theme);
         outerRadius = resources.getDimension(R.dimen.showcase_radius_outer);
         innerRadius = resources.getDimension(R.dimen.showcase_radius_inner);
+        ringPaint = new Paint();
+        ringPaint.setStyle(Paint.Style.STROKE);
+        ringPaint.setStrokeWidth(outerRadius - innerRadius);
+        ringPaint.setAntiAlias(true);
     }
 
     @Override
     public void setShowcaseColour(int color) {
         eraserPaint.setColor(color);
+        ringPaint.setColor(color);
+        updateRingAlpha();
     }
 
     @Override
-    public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier) {
-        Canvas bufferCanvas = new Canvas(buffer);
+    public void setBackgroundColour(int backgroundColor) {
+        super.setBackgroundColour(backgroundColor);
+        updateRingAlpha();
+    }
+
+    /**
+     * The buffered ring multiplies the background by the showcase colour. A mask can't hold
+     * colour, so instead the whole ring is cut out of the mask and stroked with the showcase
+     * colour at the opacity the buffered ring would have had
+     */
+    private void updateRingAlpha() {
+        ringPaint.setAlpha(ALPHA_60_PERCENT * Color.alpha(backgroundColour) / 255);
+    }
+
+    @Override
+    public void drawShowcase(Canvas canvas, float x, float y, float scaleMultiplier) {
         eraserPaint.setAlpha(ALPHA_60_PERCENT);
-        bufferCanvas.drawCircle(x, y, outerRadius, eraserPaint);
+        canvas.drawCircle(x, y, outerRadius, eraserPaint);
         eraserPaint.setAlpha(0);
-        bufferCanvas.drawCircle(x, y, innerRadius, eraserPaint);
+        canvas.drawCircle(x, y, innerRadius, eraserPaint);
+    }
+
+    @Override
+    public void drawShowcaseMask(Canvas mask, float x, float y, float scaleMultiplier) {
+        eraserPaint.setAlpha(0);
+        mask.drawCircle(x, y, outerRadius, eraserPaint);
+    }
+
+    @Override
+    public void drawShowcaseOverlay(Canvas canvas, float x, float y, float scaleMultiplier) {
+        canvas.drawCircle(x, y, (outerRadius + innerRadius) / 2, ringPaint);
+    }
+
+    @Override
+    public void getDirtyBounds(float x, float y, float scaleMultiplier, Rect outBounds) {
+        getCircleBounds(x, y, outerRadius, outBounds);
     }
 
     @Override
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.Button;
+
+/**
+ * Loads the resources and stored state needed by ShowcaseViews on a background thread
+ *
+ * @see ShowcaseView#prewarm(Context)
+ */
+class Prewarmer {
+
+    static void prewarm(final Context context) {
+        final Context applicationContext = context.getApplicationContext();
+        BackgroundExecutor.get().execute(new Runnable() {
+            @Override
+            public void run() {
+                // Reading all of the preferences blocks until they have been loaded from disk
+                new SharedPreferencesShotStorage(applicationContext).getPreferences().getAll();
+                MappedShotStorage.preload(applicationContext);
+
+                ResourceCache.getShowcaseDrawable(context.getResources(), context.getTheme());
+                ResourceCache.getTextAppearance(context, R.style.TextAppearance_ShowcaseView_Title);
+                ResourceCache.getTextAppearance(context, R.style.TextAppearance_ShowcaseView_Detail);
+                if (context instanceof Activity) {
+                    prewarmButton((Activity) context);
+                }
+            }
+        });
+    }
+
+    /**
+     * Inflate the end button for an activity in the background, like AsyncLayoutInflater does.
+     * It is kept on the activity's decor view until a ShowcaseView takes it, so that it can't
+     * outlive the activity.
+     */
+    private static void prewarmButton(final Activity activity) {
+        final Button button;
+        try {
+            button = (Button) LayoutInflater.from(activity).inflate(R.layout.showcase_button, null);
+        } catch (RuntimeException e) {
+            // The button will be inflated on the UI thread instead
+            Log.w("ShowcaseView", "Failed to inflate the button in the background", e);
+            return;
+        }
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+            @Override
+            public void run() {
+                View decorView = activity.getWindow().peekDecorView();
+                if (decorView != null && decorView.getTag(R.id.showcase_prewarmed_button) == null) {
+                    decorView.setTag(R.id.showcase_prewarmed_button, button);
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the button prewarmed for this context if there is one, otherwise a newly inflated one
+     */
+    static Button takeButton(Context context) {
+        if (context instanceof Activity) {
+            View decorView = ((Activity) context).getWindow().peekDecorView();
+            Object button = decorView == null ? null : decorView.getTag(R.id.showcase_prewarmed_button);
+            if (button instanceof Button) {
+                decorView.setTag(R.id.showcase_prewarmed_button, null);
+                return (Button) button;
+            }
+        }
+        return (Button) LayoutInflater.from(context).inflate(R.layout.showcase_button, null);
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+import android.support.v4.content.res.ResourcesCompat;
+import android.support.v4.util.LruCache;
+import android.text.style.TextAppearanceSpan;
+import android.util.SparseArray;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the resources which are expensive to load when a ShowcaseView is created, so they are
+ * only loaded once per process (or per configuration). They can be loaded ahead of time on a
+ * background thread with {@link ShowcaseView#prewarm(Context)}.
+ */
+class ResourceCache {
+
+    private static final int MAX_SHOWCASE_SPRITES = 4;
+    // Text appearances resolve their colours against a theme, so are cached for each theme
+    private static final Map<Resources.Theme, SparseArray<TextAppearanceSpan>> textAppearances =
+            new WeakHashMap<Resources.Theme, SparseArray<TextAppearanceSpan>>();
+    private static final LruCache<String, Bitmap> showcaseSprites = new LruCache<String, Bitmap>(MAX_SHOWCASE_SPRITES);
+    private static boolean hasConfiguration;
+    private static int densityDpi;
+    private static Locale locale;
+    private static int uiMode;
+    private static float fontScale;
+    private static Drawable.ConstantState showcaseDrawableState;
+
+    /**
+     * @return a mutable copy of the showcase drawable used by {@link StandardShowcaseDrawer}
+     */
+    static synchronized Drawable getShowcaseDrawable(Resources resources, Resources.Theme theme) {
+        checkConfiguration(resources);
+        if (showcaseDrawableState == null) {
+            Drawable drawable = ResourcesCompat.getDrawable(resources, R.drawable.cling_bleached, theme);
+            showcaseDrawableState = drawable.getConstantState();
+            if (showcaseDrawableState == null) {
+                return drawable.mutate();
+            }
+        }
+        // Each drawer tints its drawable, so it mustn't share state with the others
+        return showcaseDrawableState.newDrawable(resources).mutate();
+    }
+
+    /**
+     * Get the showcase drawable rendered at its intrinsic size and tinted with the given colour,
+     * so that drawing it is a single bitmap draw. The most recently used sprites are shared
+     * between drawers, and must not be drawn onto.
+     * @param drawable the drawer's copy of the showcase drawable, used to render a missing sprite
+     */
+    static synchronized Bitmap getShowcaseSprite(Resources resources, Drawable drawable, int colour) {
+        checkConfiguration(resources);
+        int width = drawable.getIntrinsicWidth();
+        int height = drawable.getIntrinsicHeight();
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        String key = colour + ":" + width + "x" + height + "@" + resources.getDisplayMetrics().densityDpi;
+        Bitmap sprite = showcaseSprites.get(key);
+        if (sprite == null) {
+            sprite = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            drawable.setColorFilter(colour, PorterDuff.Mode.MULTIPLY);
+            drawable.setBounds(0, 0, width, height);
+            drawable.draw(new Canvas(sprite));
+            showcaseSprites.put(key, sprite);
+        }
+        return sprite;
+    }
+
+    static synchronized TextAppearanceSpan getTextAppearance(Context context, int styleId) {
+        checkConfiguration(context.getResources());
+        Resources.Theme theme = context.getTheme();
+        SparseArray<TextAppearanceSpan> themeAppearances = textAppearances.get(theme);
+        if (themeAppearances == null) {
+            themeAppearances = new SparseArray<TextAppearanceSpan>();
+            textAppearances.put(theme, themeAppearances);
+        }
+        TextAppearanceSpan span = themeAppearances.get(styleId);
+        if (span == null) {
+            span = new TextAppearanceSpan(context, styleId);
+            themeAppearances.put(styleId, span);
+        }
+        return span;
+    }
+
+    /**
+     * Clear the cache if the parts of the configuration which the cached resources depend on have
+     * changed. Other differences, such as between the application's and an activity's
+     * configuration in multi-window, keep the cache.
+     */
+    @SuppressWarnings("deprecation")
+    private static void checkConfiguration(Resources resources) {
+        Configuration current = resources.getConfiguration();
+        int currentDensityDpi = resources.getDisplayMetrics().densityDpi;
+        boolean isSame = hasConfiguration
+                && densityDpi == currentDensityDpi
+                && uiMode == current.uiMode
+                && fontScale == current.fontScale
+                && (locale == null ? current.locale == null : locale.equals(current.locale));
+        if (!isSame) {
+            hasConfiguration = true;
+            densityDpi = currentDensityDpi;
+            uiMode = current.uiMode;
+            fontScale = current.fontScale;
+            locale = current.locale;
+            showcaseDrawableState = null;
+            textAppearances.clear();
+            // Evicted sprites may still be drawn by existing drawers, so they aren't recycled
+            showcaseSprites.evictAll();
+        }
+    }
+
+}
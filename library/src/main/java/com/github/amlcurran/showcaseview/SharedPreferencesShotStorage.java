@@ -0,0 +1,55 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.amlcurran.showcaseview;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.github.amlcurran.showcaseview.core.ShotStateStorage;
+
+/**
+ * Default storage, which keeps a boolean for each shot id in a SharedPreferences file
+ */
+class SharedPreferencesShotStorage implements ShotStateStorage {
+
+    static final String PREFS_SHOWCASE_INTERNAL = "showcase_internal";
+    static final String KEY_PREFIX = "hasShot";
+
+    private final Context context;
+
+    SharedPreferencesShotStorage(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public boolean hasShot(long shotId) {
+        return getPreferences().getBoolean(getKey(shotId), false);
+    }
+
+    @Override
+    public void storeShot(long shotId) {
+        getPreferences().edit().putBoolean(getKey(shotId), true).apply();
+    }
+
+    SharedPreferences getPreferences() {
+        return context.getSharedPreferences(PREFS_SHOWCASE_INTERNAL, Context.MODE_PRIVATE);
+    }
+
+    private static String getKey(long shotId) {
+        return KEY_PREFIX + shotId;
+    }
+
+}
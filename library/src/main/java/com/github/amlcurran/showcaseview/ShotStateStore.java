@@ -17,25 +17,38 @@
 package com.github.amlcurran.showcaseview;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+import android.support.v4.util.LongSparseArray;
+
+import com.github.amlcurran.showcaseview.core.ShotStateStorage;
 
 class ShotStateStore {
 
-    private static final String PREFS_SHOWCASE_INTERNAL = "showcase_internal";
     private static final int INVALID_SHOT_ID = -1;
+    // Ids known to have been shot by any store in this process. Once shot, an id stays shot, so
+    // every store for the same id agrees as soon as one of them stores it
+    private static final LongSparseArray<Boolean> knownShots = new LongSparseArray<Boolean>();
 
     long shotId = INVALID_SHOT_ID;
 
     private final Context context;
+    private ShotStateStorage storage;
+    // Read from storage the first time it is needed, so that hasShot() can be called whilst drawing
+    private boolean isResolved;
+    private boolean hasShot;
 
     public ShotStateStore(Context context) {
         this.context = context;
+        this.storage = new SharedPreferencesShotStorage(context);
     }
 
     boolean hasShot() {
-        return isSingleShot() && context
-                .getSharedPreferences(PREFS_SHOWCASE_INTERNAL, Context.MODE_PRIVATE)
-                .getBoolean("hasShot" + shotId, false);
+        if (!isSingleShot()) {
+            return false;
+        }
+        if (!isResolved) {
+            resolveShot();
+        }
+        return hasShot || isKnownShot(shotId);
     }
 
     boolean isSingleShot() {
@@ -44,13 +57,50 @@ class ShotStateStore {
 
     void storeShot() {
         if (isSingleShot()) {
-            SharedPreferences internal = context.getSharedPreferences(PREFS_SHOWCASE_INTERNAL, Context.MODE_PRIVATE);
-            internal.edit().putBoolean("hasShot" + shotId, true).apply();
+            hasShot = true;
+            isResolved = true;
+            markKnownShot(shotId);
+            boolean traced = ShowcaseTrace.beginSection("ShowcaseView#storeShot");
+            storage.storeShot(shotId);
+            ShowcaseTrace.endSection(traced);
         }
     }
 
     void setSingleShot(long shotId) {
         this.shotId = shotId;
+        isResolved = false;
+    }
+
+    /**
+     * Store shot state in a memory-mapped file rather than SharedPreferences
+     *
+     * @see MappedShotStorage
+     */
+    void useMappedStorage() {
+        storage = MappedShotStorage.getInstance(context);
+        isResolved = false;
+    }
+
+    private void resolveShot() {
+        boolean traced = ShowcaseTrace.beginSection("ShowcaseView#loadShot");
+        hasShot = storage.hasShot(shotId);
+        if (hasShot) {
+            markKnownShot(shotId);
+        }
+        isResolved = true;
+        ShowcaseTrace.endSection(traced);
+    }
+
+    private static boolean isKnownShot(long shotId) {
+        synchronized (knownShots) {
+            return knownShots.get(shotId) != null;
+        }
+    }
+
+    private static void markKnownShot(long shotId) {
+        synchronized (knownShots) {
+            knownShots.put(shotId, Boolean.TRUE);
+        }
     }
 
-}
\ No newline at end of file
+}
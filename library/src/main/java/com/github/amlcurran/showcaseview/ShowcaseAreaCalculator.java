@@ -19,35 +19,47 @@ package com.github.amlcurran.showcaseview;
 import android.graphics.Rect;
 import android.util.Log;
 
+import com.github.amlcurran.showcaseview.core.ShowcaseArea;
+
 /**
  * Class responsible for calculating where the Showcase should position itself
  */
 class ShowcaseAreaCalculator {
 
     private final Rect mShowcaseRect = new Rect();
+    private final Rect mTargetBounds = new Rect();
+    private final ShowcaseArea showcaseArea = new ShowcaseArea();
+    private boolean hasCalculated;
 
     /**
      * Creates a {@link android.graphics.Rect} which represents the area the showcase covers. Used
-     * to calculate where best to place the text
+     * to calculate where best to place the text. A target which is larger than the showcase is
+     * included, so that the text doesn't cover it.
      *
+     * @param targetBounds the area covered by the target relative to its centre, or an empty
+     *                     rect if it isn't known
      * @return true if voidedArea has changed, false otherwise.
      */
-    public boolean calculateShowcaseRect(float x, float y, ShowcaseDrawer showcaseDrawer) {
+    public boolean calculateShowcaseRect(float x, float y, Rect targetBounds, ShowcaseDrawer showcaseDrawer) {
 
-        int cx = (int) x, cy = (int) y;
         int dw = showcaseDrawer.getShowcaseWidth();
         int dh = showcaseDrawer.getShowcaseHeight();
 
-        if (mShowcaseRect.left == cx - dw / 2 && mShowcaseRect.top == cy - dh / 2) {
+        boolean areaChanged = showcaseArea.calculate((int) x, (int) y, dw, dh);
+        if (!areaChanged && hasCalculated && mTargetBounds.equals(targetBounds)) {
             return false;
         }
 
         Log.d("ShowcaseView", "Recalculated");
 
-        mShowcaseRect.left = cx - dw / 2;
-        mShowcaseRect.top = cy - dh / 2;
-        mShowcaseRect.right = cx + dw / 2;
-        mShowcaseRect.bottom = cy + dh / 2;
+        hasCalculated = true;
+        mTargetBounds.set(targetBounds);
+        mShowcaseRect.set(showcaseArea.getLeft(), showcaseArea.getTop(),
+                showcaseArea.getRight(), showcaseArea.getBottom());
+        if (!targetBounds.isEmpty()) {
+            mShowcaseRect.union((int) x + targetBounds.left, (int) y + targetBounds.top,
+                    (int) x + targetBounds.right, (int) y + targetBounds.bottom);
+        }
 
         return true;
 
@@ -73,7 +73,8 @@ public interface ShowcaseDrawer {
 
     /**
      * Draw the commands drawn to the canvas. Typically this is a single implementation, see
-     * {@link StandardShowcaseDrawer}.
+     * {@link StandardShowcaseDrawer}. If the buffer is a reduced resolution one, the canvas is
+     * scaled up to match the view, so the bitmap should be drawn with filtering.
      * @param canvas canvas to draw to
      * @param bitmapBuffer bitmap to draw
      */
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+/**
+ * Receives measurements of the work a ShowcaseView does, for example to report them to your own
+ * telemetry. Durations are in nanoseconds. Nothing is measured unless a listener has been set,
+ * either with {@link ShowcaseView.Builder#setMetricsListener(ShowcaseMetricsListener)} or for
+ * every ShowcaseView with {@link ShowcaseView#setGlobalMetricsListener(ShowcaseMetricsListener)}.
+ * <p/>
+ * All of these are called on the UI thread, in the middle of drawing or touch handling, so they
+ * should return quickly.
+ */
+public interface ShowcaseMetricsListener {
+
+    /**
+     * Called after the ShowcaseView has drawn a frame
+     */
+    void onFrameDrawn(ShowcaseView showcaseView, long durationNanos);
+
+    /**
+     * Called when the ShowcaseView takes a buffer to draw the showcase into
+     *
+     * @param reused true if the buffer was reused from an earlier ShowcaseView rather than
+     *               being newly allocated
+     */
+    void onBufferAcquired(ShowcaseView showcaseView, int width, int height, long byteCount, boolean reused);
+
+    /**
+     * Called when the title and text have been laid out again, which happens whenever the
+     * text or its position changes
+     */
+    void onTextLaidOut(ShowcaseView showcaseView, long durationNanos);
+
+    /**
+     * Called when the first frame is drawn after a target has been resolved, with the time since
+     * the target was set
+     */
+    void onTargetShown(ShowcaseView showcaseView, long latencyNanos);
+
+    /**
+     * Called after the ShowcaseView has handled a touch event
+     */
+    void onTouchHandled(ShowcaseView showcaseView, long durationNanos);
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Trace;
+import android.util.Log;
+
+import java.lang.reflect.Method;
+
+/**
+ * Names the work ShowcaseView does in systrace and Perfetto traces. Tracing is off until it is
+ * turned on with {@link ShowcaseView#setTracingEnabled(boolean)}, and only works on API 18+.
+ * Operations which span several frames use async sections, which need API 29+.
+ */
+class ShowcaseTrace {
+
+    private static final boolean CAN_TRACE = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    private static final int ASYNC_TRACE_API = 29;
+
+    private static volatile boolean enabled;
+    private static Method beginAsyncSection;
+    private static Method endAsyncSection;
+    private static boolean hasLookedUpAsync;
+
+    static void setEnabled(boolean enabled) {
+        ShowcaseTrace.enabled = enabled && CAN_TRACE;
+    }
+
+    /**
+     * Start a section on the current thread. Pass the result to {@link #endSection(boolean)},
+     * so that a section is only ended if it was started even if tracing is toggled in between.
+     *
+     * @return true if a section was started
+     */
+    static boolean beginSection(String name) {
+        if (!enabled) {
+            return false;
+        }
+        begin(name);
+        return true;
+    }
+
+    static void endSection(boolean begun) {
+        if (begun) {
+            end();
+        }
+    }
+
+    /**
+     * Start a section which may end on a later frame. The cookie identifies the section when it
+     * ends, so it must be unique among sections of the same name running at the same time.
+     *
+     * @return true if a section was started
+     */
+    static boolean beginAsyncSection(String name, int cookie) {
+        if (!enabled || !hasAsyncSections()) {
+            return false;
+        }
+        return invoke(beginAsyncSection, name, cookie);
+    }
+
+    static void endAsyncSection(boolean begun, String name, int cookie) {
+        if (begun) {
+            invoke(endAsyncSection, name, cookie);
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private static void begin(String name) {
+        Trace.beginSection(name);
+    }
+
+    @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+    private static void end() {
+        Trace.endSection();
+    }
+
+    /**
+     * Async sections are only public from API 29, which is newer than the SDK this library is
+     * compiled against, so they are found by reflection
+     */
+    private static synchronized boolean hasAsyncSections() {
+        if (!hasLookedUpAsync) {
+            hasLookedUpAsync = true;
+            if (Build.VERSION.SDK_INT >= ASYNC_TRACE_API) {
+                try {
+                    beginAsyncSection = Trace.class.getMethod("beginAsyncSection", String.class, int.class);
+                    endAsyncSection = Trace.class.getMethod("endAsyncSection", String.class, int.class);
+                } catch (NoSuchMethodException e) {
+                    Log.e("ShowcaseView", "Failed to find async trace sections", e);
+                    beginAsyncSection = null;
+                    endAsyncSection = null;
+                }
+            }
+        }
+        return beginAsyncSection != null;
+    }
+
+    private static boolean invoke(Method method, String name, int cookie) {
+        try {
+            method.invoke(null, name, cookie);
+            return true;
+        } catch (Exception e) {
+            Log.e("ShowcaseView", "Failed to trace " + name, e);
+            return false;
+        }
+    }
+
+}
@@ -16,15 +16,19 @@
 
 package com.github.amlcurran.showcaseview;
 
+import android.annotation.TargetApi;
 import android.app.Activity;
+import android.app.ActivityManager;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.Paint;
 import android.graphics.Point;
 import android.graphics.PorterDuff;
 import android.graphics.Rect;
+import android.os.Build;
 import android.support.annotation.IntDef;
 import android.text.Layout;
 import android.text.TextPaint;
@@ -34,10 +38,16 @@ import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.widget.Button;
 import android.widget.RelativeLayout;
 
+import com.github.amlcurran.showcaseview.core.ShowcaseArea;
+import com.github.amlcurran.showcaseview.core.TextPlacement;
+import com.github.amlcurran.showcaseview.targets.ReusablePointTarget;
 import com.github.amlcurran.showcaseview.targets.Target;
+import com.github.amlcurran.showcaseview.targets.TrackingTarget;
+import com.github.amlcurran.showcaseview.targets.ViewTarget;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
@@ -52,19 +62,47 @@ public class ShowcaseView extends RelativeLayout
         implements View.OnTouchListener, ShowcaseViewApi {
 
     private static final int HOLO_BLUE = Color.parseColor("#33B5E5");
-    public static final int UNDEFINED = -1;
-    public static final int LEFT_OF_SHOWCASE = 0;
-    public static final int RIGHT_OF_SHOWCASE = 2;
-    public static final int ABOVE_SHOWCASE = 1;
-    public static final int BELOW_SHOWCASE = 3;
+    private static final long TARGET_TIMEOUT_MILLIS = 500;
+    private static final int LOW_MEMORY_CLASS = 32;
+    private static ShowcaseMetricsListener globalMetricsListener;
+    public static final int UNDEFINED = TextPlacement.UNDEFINED;
+    public static final int LEFT_OF_SHOWCASE = TextPlacement.LEFT_OF_SHOWCASE;
+    public static final int RIGHT_OF_SHOWCASE = TextPlacement.RIGHT_OF_SHOWCASE;
+    public static final int ABOVE_SHOWCASE = TextPlacement.ABOVE_SHOWCASE;
+    public static final int BELOW_SHOWCASE = TextPlacement.BELOW_SHOWCASE;
 
     @Retention(RetentionPolicy.SOURCE)
     @IntDef({UNDEFINED, LEFT_OF_SHOWCASE, RIGHT_OF_SHOWCASE, ABOVE_SHOWCASE, BELOW_SHOWCASE})
     public @interface TextPosition {
     }
 
+    public static final int RENDERING_BUFFERED = 0;
+    public static final int RENDERING_DIRECT = 1;
+    public static final int RENDERING_ALPHA_MASK = 2;
+
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({RENDERING_BUFFERED, RENDERING_DIRECT, RENDERING_ALPHA_MASK})
+    public @interface RenderingMode {
+    }
+
+    public static final int BUFFER_SCALE_AUTO = 0;
+    public static final int BUFFER_SCALE_FULL = 1;
+    public static final int BUFFER_SCALE_HALF = 2;
+    public static final int BUFFER_SCALE_QUARTER = 4;
+
+    @Retention(RetentionPolicy.SOURCE)
+    @IntDef({BUFFER_SCALE_AUTO, BUFFER_SCALE_FULL, BUFFER_SCALE_HALF, BUFFER_SCALE_QUARTER})
+    public @interface BufferScale {
+    }
+
+    // The button and drawers are null, and the animation factory doesn't animate, if the
+    // ShowcaseView has already been shot when it is built, as it will never be shown
     private Button mEndButton;
+    // A button supplied by the user keeps its own text and colours
+    private final boolean hasCustomEndButton;
     private final TextDrawer textDrawer;
+    private final TextLayerView textLayer;
+    private boolean isDrawingTextLayer;
     private ShowcaseDrawer showcaseDrawer;
     private final ShowcaseAreaCalculator showcaseAreaCalculator;
     private final AnimationFactory animationFactory;
@@ -82,9 +120,18 @@ public class ShowcaseView extends RelativeLayout
     private OnShowcaseEventListener mEventListener = OnShowcaseEventListener.NONE;
 
     private boolean hasAlteredText = false;
+    private boolean hasAlteredShowcase = true;
+    private boolean isMovingShowcase = false;
     private boolean hasNoTarget = false;
     private boolean shouldCentreText;
     private Bitmap bitmapBuffer;
+    @RenderingMode
+    private int renderingMode = RENDERING_BUFFERED;
+    private boolean isCanvasAccelerated;
+    private final ApiUtils apiUtils = new ApiUtils();
+    private final Paint maskPaint = new Paint();
+    private int bufferScale = BUFFER_SCALE_FULL;
+    private Canvas bufferCanvas;
 
     // Animation items
     private long fadeInMillis;
@@ -94,22 +141,44 @@ public class ShowcaseView extends RelativeLayout
     private int showcaseColor;
     private boolean blockAllTouches;
     private final int[] positionInWindow = new int[2];
+    private final Rect previousDirtyBounds = new Rect();
+    private final Rect dirtyBounds = new Rect();
+    private final Rect textBounds = new Rect();
+    private final Point targetPoint = new Point();
+    private final Rect targetBounds = new Rect();
+    private PendingTarget pendingTarget;
+    private boolean tracksTarget;
+    private TrackingTarget trackedTarget;
+    private ShowcaseMetricsListener metricsListener;
+    private long targetSetNanos;
+    private boolean isTargetResolved;
 
     protected ShowcaseView(Context context, boolean newStyle) {
         this(context, null, R.styleable.CustomTheme_showcaseViewStyle, newStyle);
     }
 
     protected ShowcaseView(Context context, AttributeSet attrs, int defStyle, boolean newStyle) {
+        this(context, attrs, defStyle,
+                newStyle ? new NewShowcaseDrawer(context.getResources(), context.getTheme())
+                        : new StandardShowcaseDrawer(context.getResources(), context.getTheme()),
+                new ShotStateStore(context), null);
+    }
+
+    /**
+     * @param customEndButton the button to use instead of the default one, or null to use the
+     *                        default, which may have been prewarmed
+     */
+    private ShowcaseView(Context context, AttributeSet attrs, int defStyle, ShowcaseDrawer showcaseDrawer,
+                         ShotStateStore shotStateStore, Button customEndButton) {
         super(context, attrs, defStyle);
 
-        ApiUtils apiUtils = new ApiUtils();
         if (apiUtils.isCompatWithHoneycomb()) {
             animationFactory = new AnimatorAnimationFactory();
         } else {
             animationFactory = new NoAnimationFactory();
         }
         showcaseAreaCalculator = new ShowcaseAreaCalculator();
-        shotStateStore = new ShotStateStore(context);
+        this.shotStateStore = shotStateStore;
 
         // Get the attributes for the ShowcaseView
         final TypedArray styled = context.getTheme()
@@ -120,19 +189,67 @@ public class ShowcaseView extends RelativeLayout
         fadeInMillis = getResources().getInteger(android.R.integer.config_mediumAnimTime);
         fadeOutMillis = getResources().getInteger(android.R.integer.config_mediumAnimTime);
 
-        mEndButton = (Button) LayoutInflater.from(context).inflate(R.layout.showcase_button, null);
-        if (newStyle) {
-            showcaseDrawer = new NewShowcaseDrawer(getResources(), context.getTheme());
-        } else {
-            showcaseDrawer = new StandardShowcaseDrawer(getResources(), context.getTheme());
-        }
+        hasCustomEndButton = customEndButton != null;
+        mEndButton = hasCustomEndButton ? customEndButton : Prewarmer.takeButton(context);
+        this.showcaseDrawer = showcaseDrawer;
         textDrawer = new TextDrawer(getResources(), getContext());
+        textLayer = new TextLayerView(getContext(), textDrawer);
+        addView(textLayer, 0, new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
 
         updateStyle(styled, false);
 
         init();
     }
 
+    /**
+     * Creates a ShowcaseView which has already been shot. It is never shown, so none of the
+     * drawing or layout is created.
+     */
+    private ShowcaseView(Context context, ShotStateStore shotStateStore) {
+        super(context);
+        this.animationFactory = new NoAnimationFactory();
+        this.showcaseAreaCalculator = new ShowcaseAreaCalculator();
+        this.shotStateStore = shotStateStore;
+        this.textDrawer = null;
+        this.textLayer = null;
+        this.hasCustomEndButton = false;
+        hideImmediate();
+    }
+
+    /**
+     * Load the resources and stored state that ShowcaseViews need on a background thread, so that
+     * building the first ShowcaseView doesn't have to do it on the UI thread. Call this as early
+     * as possible, for example in {@link android.app.Application#onCreate()}. Styles are loaded
+     * against the given context's theme, so passing the Activity which will show the
+     * ShowcaseView (after setting its content view) also prepares its text styles and button.
+     */
+    public static void prewarm(Context context) {
+        Prewarmer.prewarm(context);
+    }
+
+    /**
+     * Set a listener which receives measurements from every ShowcaseView that doesn't have its own
+     * listener, or null to stop measuring
+     *
+     * @see Builder#setMetricsListener(ShowcaseMetricsListener)
+     */
+    public static void setGlobalMetricsListener(ShowcaseMetricsListener listener) {
+        globalMetricsListener = listener;
+    }
+
+    /**
+     * Name the work ShowcaseViews do in systrace and Perfetto traces. This has a small cost, so is
+     * off by default. Sections are only recorded on API 18+, and sections which span several
+     * frames (such as fades) on API 29+.
+     */
+    public static void setTracingEnabled(boolean enabled) {
+        ShowcaseTrace.setEnabled(enabled);
+    }
+
+    private ShowcaseMetricsListener getMetricsListener() {
+        return metricsListener != null ? metricsListener : globalMetricsListener;
+    }
+
     private void init() {
 
         setOnTouchListener(this);
@@ -144,7 +261,9 @@ public class ShowcaseView extends RelativeLayout
             lps.addRule(RelativeLayout.ALIGN_PARENT_RIGHT);
             lps.setMargins(margin, margin, margin, margin);
             mEndButton.setLayoutParams(lps);
-            mEndButton.setText(android.R.string.ok);
+            if (!hasCustomEndButton) {
+                mEndButton.setText(android.R.string.ok);
+            }
             if (!hasCustomClickListener) {
                 mEndButton.setOnClickListener(hideOnClickListener);
             }
@@ -165,12 +284,92 @@ public class ShowcaseView extends RelativeLayout
         if (shotStateStore.hasShot()) {
             return;
         }
+        boolean canInvalidatePartially = isShowcaseDrawn() && getDrawnBounds(previousDirtyBounds);
         getLocationInWindow(positionInWindow);
-        showcaseX = x - positionInWindow[0];
-        showcaseY = y - positionInWindow[1];
+        int newX = x - positionInWindow[0];
+        int newY = y - positionInWindow[1];
+        if (newX != showcaseX || newY != showcaseY) {
+            showcaseX = newX;
+            showcaseY = newY;
+            hasAlteredShowcase = true;
+        }
         //init();
-        recalculateText();
-        invalidate();
+        if (!isMovingShowcase) {
+            recalculateText();
+        }
+        if (canInvalidatePartially && getDrawnBounds(dirtyBounds)) {
+            dirtyBounds.union(previousDirtyBounds);
+            invalidate(dirtyBounds);
+        } else {
+            invalidate();
+        }
+    }
+
+    private boolean isShowcaseDrawn() {
+        boolean hasBuffer = !usesBitmapBuffer() || bitmapBuffer != null;
+        return showcaseX >= 0 && showcaseY >= 0 && hasBuffer && !hasNoTarget && !hasAlteredText;
+    }
+
+    /**
+     * Calculate the area covered by the showcase and text at the showcase's current position
+     *
+     * @return false if the area can't be worked out, in which case the whole view
+     * should be invalidated
+     */
+    private boolean getDrawnBounds(Rect outBounds) {
+        if (!(showcaseDrawer instanceof BoundedShowcaseDrawer)) {
+            return false;
+        }
+        ((BoundedShowcaseDrawer) showcaseDrawer).getDirtyBounds(showcaseX, showcaseY, scaleMultiplier, outBounds);
+        int scale = getBufferScale();
+        if (usesBitmapBuffer() && scale != BUFFER_SCALE_FULL) {
+            // Each pixel of a reduced buffer covers scale pixels on screen, and is filtered into
+            // its neighbours when scaled back up, so the edge spreads beyond the drawer's bounds
+            outBounds.inset(-2 * scale, -2 * scale);
+        }
+        if (isMovingShowcase) {
+            // The text stays where it is whilst the showcase moves, and is drawn by its own
+            // layer, so only the showcase needs redrawing
+            return true;
+        }
+        outBounds.union(showcaseAreaCalculator.getShowcaseRect());
+        if (!textDrawer.getTextBounds(textBounds)) {
+            return false;
+        }
+        outBounds.union(textBounds);
+        return true;
+    }
+
+    /**
+     * Called when an animated move of the showcase starts. Until it ends, the text stays
+     * where it is so that each frame of the move only has to redraw the showcase.
+     */
+    void onShowcaseMoveStarted() {
+        isMovingShowcase = true;
+    }
+
+    /**
+     * Called when an animated move of the showcase ends, or is cancelled
+     */
+    void onShowcaseMoveEnded() {
+        isMovingShowcase = false;
+        if (!shotStateStore.hasShot()) {
+            if (trackedTarget != null && getTargetPoint(trackedTarget, targetPoint)) {
+                getTargetBounds(trackedTarget, targetPoint.x, targetPoint.y, targetBounds);
+                setShowcasePosition(targetPoint);
+            }
+            recalculateText();
+            invalidate();
+        }
+    }
+
+    /**
+     * @return the position of the showcase, in the window's co-ordinates (as used by
+     * {@link #setShowcasePosition(int, int)})
+     */
+    Point getShowcasePointInWindow() {
+        getLocationInWindow(positionInWindow);
+        return new Point(showcaseX + positionInWindow[0], showcaseY + positionInWindow[1]);
     }
 
     public void setTarget(final Target target) {
@@ -178,46 +377,294 @@ public class ShowcaseView extends RelativeLayout
     }
 
     public void setShowcase(final Target target, final boolean animate) {
-        postDelayed(new Runnable() {
-            @Override
-            public void run() {
+        stopTrackingTarget();
+        if (pendingTarget != null) {
+            pendingTarget.cancel();
+        }
+        isTargetResolved = false;
+        targetSetNanos = getMetricsListener() != null ? System.nanoTime() : 0;
+        pendingTarget = new PendingTarget(target, animate);
+        pendingTarget.schedule();
+    }
 
-                if (!shotStateStore.hasShot()) {
+    private void resolveTarget(Target target, boolean animate) {
+        isTargetResolved = true;
+        boolean traced = ShowcaseTrace.beginSection("ShowcaseView#resolveTarget");
+        if (!shotStateStore.hasShot()) {
 
-                    if (canUpdateBitmap()) {
-                        updateBitmap();
-                    }
+            if (canUpdateBitmap()) {
+                updateBitmap();
+            }
 
-                    Point targetPoint = target.getPoint();
-                    if (targetPoint != null) {
-                        hasNoTarget = false;
-                        if (animate) {
-                            animationFactory.animateTargetToPoint(ShowcaseView.this, targetPoint);
-                        } else {
-                            setShowcasePosition(targetPoint);
-                        }
-                    } else {
-                        hasNoTarget = true;
-                        invalidate();
-                    }
+            if (getTargetPoint(target, targetPoint)) {
+                getTargetBounds(target, targetPoint.x, targetPoint.y, targetBounds);
+                hasAlteredShowcase |= hasNoTarget;
+                hasNoTarget = false;
+                if (animate) {
+                    animationFactory.animateTargetToPoint(ShowcaseView.this, targetPoint);
+                } else {
+                    setShowcasePosition(targetPoint);
+                }
+            } else {
+                hasAlteredShowcase |= !hasNoTarget;
+                hasNoTarget = true;
+                invalidate();
+            }
 
+            if (tracksTarget && target instanceof TrackingTarget) {
+                trackedTarget = (TrackingTarget) target;
+                trackedTarget.startTracking(onTargetMovedListener);
+            }
+
+        }
+        ShowcaseTrace.endSection(traced);
+    }
+
+    /**
+     * Write the position of the target into outPoint, without allocating if the target is a
+     * {@link ReusablePointTarget}
+     *
+     * @return false if the target has no position
+     */
+    private static boolean getTargetPoint(Target target, Point outPoint) {
+        if (target instanceof ReusablePointTarget) {
+            return ((ReusablePointTarget) target).getPoint(outPoint);
+        }
+        Point point = target.getPoint();
+        if (point == null) {
+            return false;
+        }
+        outPoint.set(point.x, point.y);
+        return true;
+    }
+
+    /**
+     * Write the area covered by the target into outBounds, relative to its centre so that it
+     * follows the showcase as it moves. outBounds is emptied if the target isn't a
+     * {@link ReusablePointTarget}, as only those report their bounds.
+     */
+    private static void getTargetBounds(Target target, int centreX, int centreY, Rect outBounds) {
+        if (target instanceof ReusablePointTarget && ((ReusablePointTarget) target).getBounds(outBounds)) {
+            outBounds.offset(-centreX, -centreY);
+        } else {
+            outBounds.setEmpty();
+        }
+    }
+
+    private final TrackingTarget.OnTargetMovedListener onTargetMovedListener = new TrackingTarget.OnTargetMovedListener() {
+        @Override
+        public void onTargetMoved(int x, int y) {
+            // An animated move will pick up the latest position when it ends
+            if (!isMovingShowcase) {
+                getTargetBounds(trackedTarget, x, y, targetBounds);
+                setShowcasePosition(x, y);
+            }
+        }
+    };
+
+    private void stopTrackingTarget() {
+        if (trackedTarget != null) {
+            trackedTarget.stopTracking();
+            trackedTarget = null;
+        }
+    }
+
+    /**
+     * @return true if both this view and the target have been laid out, so the target's position
+     * can be trusted
+     */
+    private boolean isTargetReady(Target target) {
+        if (!canUpdateBitmap()) {
+            return false;
+        }
+        return !(target instanceof ViewTarget) || ((ViewTarget) target).isReady();
+    }
+
+    /**
+     * @return true if the first target hasn't been resolved yet, in which case nothing is drawn so
+     * that the overlay doesn't appear before the showcase has been placed
+     */
+    private boolean isAwaitingFirstTarget() {
+        return pendingTarget != null && (showcaseX < 0 || showcaseY < 0) && !hasNoTarget;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        // Known before the first layout, so that the right kind of buffer is made up front
+        isCanvasAccelerated = isHardwareAcceleratedCompat();
+        // A target which was still pending when the view was detached is waited for again
+        if (pendingTarget != null && !pendingTarget.isScheduled()) {
+            pendingTarget.schedule();
+        }
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private boolean isHardwareAcceleratedCompat() {
+        return apiUtils.isCompatWithHoneycomb() && isHardwareAccelerated();
+    }
+
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    private boolean isHardwareAccelerated(Canvas canvas) {
+        return apiUtils.isCompatWithHoneycomb() && canvas.isHardwareAccelerated();
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        stopTrackingTarget();
+        if (pendingTarget != null) {
+            // Kept, so that it can be scheduled again if the view is attached again
+            pendingTarget.cancel();
+        }
+    }
+
+    /**
+     * Resolves a target on the first pre-draw pass after both this view and the target have been
+     * laid out, rather than after a fixed delay. If that hasn't happened within
+     * {@link #TARGET_TIMEOUT_MILLIS} the target is resolved anyway.
+     */
+    private class PendingTarget implements ViewTreeObserver.OnPreDrawListener, Runnable {
+
+        private final Target target;
+        private final boolean animate;
+        private ViewTreeObserver viewTreeObserver;
+
+        PendingTarget(Target target, boolean animate) {
+            this.target = target;
+            this.animate = animate;
+        }
+
+        void schedule() {
+            if (isTargetReady(target)) {
+                resolve();
+                return;
+            }
+            viewTreeObserver = getViewTreeObserver();
+            viewTreeObserver.addOnPreDrawListener(this);
+            postDelayed(this, TARGET_TIMEOUT_MILLIS);
+        }
+
+        /**
+         * @return true if waiting for the target, false if it has been resolved or cancelled
+         */
+        boolean isScheduled() {
+            return viewTreeObserver != null;
+        }
+
+        @Override
+        public boolean onPreDraw() {
+            if (isTargetReady(target)) {
+                resolve();
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            resolve();
+        }
+
+        private void resolve() {
+            cancel();
+            if (pendingTarget == this) {
+                pendingTarget = null;
+            }
+            resolveTarget(target, animate);
+        }
+
+        void cancel() {
+            removeCallbacks(this);
+            if (viewTreeObserver != null) {
+                if (viewTreeObserver.isAlive()) {
+                    viewTreeObserver.removeOnPreDrawListener(this);
+                } else {
+                    getViewTreeObserver().removeOnPreDrawListener(this);
                 }
+                viewTreeObserver = null;
             }
-        }, 100);
+        }
+
     }
 
     private void updateBitmap() {
-        if (bitmapBuffer == null || haveBoundsChanged()) {
-            if (bitmapBuffer != null) {
-                bitmapBuffer.recycle();
+        if (!usesBitmapBuffer()) {
+            clearBitmap();
+            return;
+        }
+        Bitmap.Config config = usesAlphaMask() ? Bitmap.Config.ALPHA_8 : Bitmap.Config.ARGB_8888;
+        int scale = getBufferScale();
+        if (bitmapBuffer == null || haveBoundsChanged(scale) || bitmapBuffer.getConfig() != config) {
+            BitmapPool bitmapPool = BitmapPool.getInstance();
+            bitmapPool.release(bitmapBuffer);
+            int createdCount = bitmapPool.getCreatedCount();
+            bitmapBuffer = bitmapPool.acquire(scaleDown(getMeasuredWidth(), scale), scaleDown(getMeasuredHeight(), scale), config);
+            bufferCanvas = new Canvas(bitmapBuffer);
+            bufferCanvas.scale(1f / scale, 1f / scale);
+            hasAlteredShowcase = true;
+            ShowcaseMetricsListener listener = getMetricsListener();
+            if (listener != null) {
+                long byteCount = (long) bitmapBuffer.getRowBytes() * bitmapBuffer.getHeight();
+                boolean reused = createdCount == bitmapPool.getCreatedCount();
+                listener.onBufferAcquired(this, bitmapBuffer.getWidth(), bitmapBuffer.getHeight(), byteCount, reused);
             }
-            bitmapBuffer = Bitmap.createBitmap(getMeasuredWidth(), getMeasuredHeight(), Bitmap.Config.ARGB_8888);
         }
     }
 
-    private boolean haveBoundsChanged() {
-        return getMeasuredWidth() != bitmapBuffer.getWidth() ||
-                getMeasuredHeight() != bitmapBuffer.getHeight();
+    /**
+     * Direct rendering is only possible when the drawer knows how to draw onto a canvas, and
+     * only worthwhile when that canvas is hardware accelerated. In software, the layer it draws
+     * into would be a new full-screen bitmap on every frame. Otherwise we fall back to the
+     * bitmap buffer
+     */
+    private boolean usesBitmapBuffer() {
+        return renderingMode != RENDERING_DIRECT || !(showcaseDrawer instanceof CanvasShowcaseDrawer)
+                || !isCanvasAccelerated;
+    }
+
+    /**
+     * Like direct rendering, the buffer can only be a mask if the drawer knows how to draw one,
+     * otherwise we fall back to a full colour buffer
+     */
+    private boolean usesAlphaMask() {
+        return renderingMode == RENDERING_ALPHA_MASK && showcaseDrawer instanceof MaskShowcaseDrawer;
+    }
+
+    /**
+     * A reduced resolution buffer is drawn through a scaled canvas, so is only possible when the
+     * drawer can draw onto a canvas, otherwise we fall back to a full resolution buffer
+     */
+    private int getBufferScale() {
+        if (usesAlphaMask() || showcaseDrawer instanceof CanvasShowcaseDrawer) {
+            return bufferScale;
+        }
+        return BUFFER_SCALE_FULL;
+    }
+
+    private static int scaleDown(int size, int scale) {
+        return (size + scale - 1) / scale;
+    }
+
+    private boolean haveBoundsChanged(int scale) {
+        return scaleDown(getMeasuredWidth(), scale) != bitmapBuffer.getWidth() ||
+                scaleDown(getMeasuredHeight(), scale) != bitmapBuffer.getHeight();
+    }
+
+    /**
+     * Pick a buffer resolution from how much memory the device has. Low RAM devices, such as
+     * Android Go ones, get a half resolution buffer, or a quarter resolution one if apps are
+     * also given a very small heap.
+     */
+    @TargetApi(Build.VERSION_CODES.KITKAT)
+    private static int chooseBufferScale(Context context) {
+        if (!new ApiUtils().isCompatWith(Build.VERSION_CODES.KITKAT)) {
+            return BUFFER_SCALE_FULL;
+        }
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (activityManager == null || !activityManager.isLowRamDevice()) {
+            return BUFFER_SCALE_FULL;
+        }
+        return activityManager.getMemoryClass() <= LOW_MEMORY_CLASS ? BUFFER_SCALE_QUARTER : BUFFER_SCALE_HALF;
     }
 
     public boolean hasShowcaseView() {
@@ -225,10 +672,12 @@ public class ShowcaseView extends RelativeLayout
     }
 
     public void setShowcaseX(int x) {
+        targetBounds.setEmpty();
         setShowcasePosition(x, showcaseY);
     }
 
     public void setShowcaseY(int y) {
+        targetBounds.setEmpty();
         setShowcasePosition(showcaseX, y);
     }
 
@@ -274,41 +723,182 @@ public class ShowcaseView extends RelativeLayout
     }
 
     private void recalculateText() {
-        boolean recalculatedCling = showcaseAreaCalculator.calculateShowcaseRect(showcaseX, showcaseY, showcaseDrawer);
+        boolean traced = ShowcaseTrace.beginSection("ShowcaseView#recalculateText");
+        boolean recalculatedCling = showcaseAreaCalculator.calculateShowcaseRect(showcaseX, showcaseY, targetBounds,
+                showcaseDrawer);
         boolean recalculateText = recalculatedCling || hasAlteredText;
         if (recalculateText) {
             Rect rect = hasShowcaseView() ? showcaseAreaCalculator.getShowcaseRect() : new Rect();
             textDrawer.calculateTextPosition(getMeasuredWidth(), getMeasuredHeight(), shouldCentreText, rect);
         }
         hasAlteredText = false;
+        ShowcaseTrace.endSection(traced);
     }
 
     @SuppressWarnings("NullableProblems")
     @Override
     protected void dispatchDraw(Canvas canvas) {
-        if (showcaseX < 0 || showcaseY < 0 || shotStateStore.hasShot() || bitmapBuffer == null) {
+        boolean traced = ShowcaseTrace.beginSection("ShowcaseView#dispatchDraw");
+        ShowcaseMetricsListener listener = getMetricsListener();
+        if (listener == null) {
+            drawShowcaseView(canvas, null);
+        } else {
+            long start = System.nanoTime();
+            drawShowcaseView(canvas, listener);
+            long end = System.nanoTime();
+            listener.onFrameDrawn(this, end - start);
+            if (targetSetNanos != 0 && isTargetResolved) {
+                listener.onTargetShown(this, end - targetSetNanos);
+                targetSetNanos = 0;
+            }
+        }
+        ShowcaseTrace.endSection(traced);
+    }
+
+    private void drawShowcaseView(Canvas canvas, ShowcaseMetricsListener listener) {
+        boolean isAccelerated = isHardwareAccelerated(canvas);
+        if (isAccelerated != isCanvasAccelerated) {
+            // For example, when the view is drawn into a bitmap for a screenshot
+            isCanvasAccelerated = isAccelerated;
+            if (canUpdateBitmap()) {
+                updateBitmap();
+            }
+        }
+        boolean usesBitmapBuffer = usesBitmapBuffer();
+        boolean usesAlphaMask = usesAlphaMask();
+        if (isAwaitingFirstTarget()) {
+            return;
+        }
+        if (showcaseX < 0 || showcaseY < 0 || shotStateStore.hasShot() || (usesBitmapBuffer && bitmapBuffer == null)) {
             super.dispatchDraw(canvas);
             return;
         }
 
-        //Draw background color
-        showcaseDrawer.erase(bitmapBuffer);
+        if (usesBitmapBuffer) {
+            // Only re-rasterize the buffer when the showcase has changed, so that the
+            // hardware renderer can keep using the texture it already uploaded
+            if (hasAlteredShowcase) {
+                boolean traced = ShowcaseTrace.beginSection("ShowcaseView#rasterizeShowcase");
+                if (usesAlphaMask) {
+                    rasterizeMask((MaskShowcaseDrawer) showcaseDrawer);
+                } else if (getBufferScale() != BUFFER_SCALE_FULL) {
+                    rasterizeScaled((CanvasShowcaseDrawer) showcaseDrawer);
+                } else {
+                    //Draw background color
+                    showcaseDrawer.erase(bitmapBuffer);
+
+                    // Draw the showcase drawable
+                    if (!hasNoTarget) {
+                        showcaseDrawer.drawShowcase(bitmapBuffer, showcaseX, showcaseY, scaleMultiplier);
+                    }
+                }
+                hasAlteredShowcase = false;
+                ShowcaseTrace.endSection(traced);
+            }
 
-        // Draw the showcase drawable
-        if (!hasNoTarget) {
-            showcaseDrawer.drawShowcase(bitmapBuffer, showcaseX, showcaseY, scaleMultiplier);
-            showcaseDrawer.drawToCanvas(canvas, bitmapBuffer);
+            if (!hasNoTarget) {
+                boolean traced = ShowcaseTrace.beginSection("ShowcaseView#drawBuffer");
+                // A reduced resolution buffer is scaled back up to fill the view
+                int scale = getBufferScale();
+                int saveCount = canvas.save();
+                if (scale != BUFFER_SCALE_FULL) {
+                    canvas.scale(scale, scale);
+                }
+                if (usesAlphaMask) {
+                    // Drawing an alpha-only bitmap fills its coverage with the paint's colour
+                    canvas.drawBitmap(bitmapBuffer, 0, 0, maskPaint);
+                } else {
+                    showcaseDrawer.drawToCanvas(canvas, bitmapBuffer);
+                }
+                canvas.restoreToCount(saveCount);
+                if (usesAlphaMask) {
+                    ((MaskShowcaseDrawer) showcaseDrawer).drawShowcaseOverlay(canvas, showcaseX, showcaseY, scaleMultiplier);
+                }
+                ShowcaseTrace.endSection(traced);
+            }
+        } else if (!hasNoTarget) {
+            boolean traced = ShowcaseTrace.beginSection("ShowcaseView#drawShowcaseDirectly");
+            drawShowcaseDirectly(canvas, (CanvasShowcaseDrawer) showcaseDrawer);
+            ShowcaseTrace.endSection(traced);
         }
 
         // Draw the text on the screen, recalculating its position if necessary
-        textDrawer.draw(canvas);
+        if (textDrawer.needsLayout()) {
+            boolean traced = ShowcaseTrace.beginSection("ShowcaseView#layoutText");
+            long start = listener != null ? System.nanoTime() : 0;
+            textDrawer.layout();
+            if (listener != null) {
+                listener.onTextLaidOut(this, System.nanoTime() - start);
+            }
+            ShowcaseTrace.endSection(traced);
+        }
+        boolean traced = ShowcaseTrace.beginSection("ShowcaseView#drawText");
+        isDrawingTextLayer = true;
+        drawChild(canvas, textLayer, getDrawingTime());
+        isDrawingTextLayer = false;
+        ShowcaseTrace.endSection(traced);
 
         super.dispatchDraw(canvas);
 
     }
 
+    /**
+     * The text layer is drawn above the showcase, as part of drawing the showcase, rather than
+     * along with the other children. That way it is only drawn when the showcase is.
+     */
+    @SuppressWarnings("NullableProblems")
+    @Override
+    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+        if (child == textLayer && !isDrawingTextLayer) {
+            return false;
+        }
+        return super.drawChild(canvas, child, drawingTime);
+    }
+
+    /**
+     * Fill the mask so the whole background is covered, then let the drawer cut the showcase
+     * out of it. The background colour is only applied when the mask is drawn.
+     */
+    private void rasterizeMask(MaskShowcaseDrawer drawer) {
+        bitmapBuffer.eraseColor(Color.BLACK);
+        if (!hasNoTarget) {
+            drawer.drawShowcaseMask(bufferCanvas, showcaseX, showcaseY, scaleMultiplier);
+        }
+    }
+
+    /**
+     * Draw into a reduced resolution buffer through a scaled canvas, so the drawer works in
+     * view coordinates. The buffer is scaled back up with filtering when it is drawn.
+     */
+    private void rasterizeScaled(CanvasShowcaseDrawer drawer) {
+        drawer.erase(bufferCanvas);
+        if (!hasNoTarget) {
+            drawer.drawShowcase(bufferCanvas, showcaseX, showcaseY, scaleMultiplier);
+        }
+    }
+
+    /**
+     * Draw the background and showcase into an isolated layer of the view's canvas, so that the
+     * showcase only punches through the background and not through whatever is below the view
+     */
+    private void drawShowcaseDirectly(Canvas canvas, CanvasShowcaseDrawer drawer) {
+        // The drawers erase the background and cut the showcase out with transfer modes. Drawn
+        // straight onto the view's canvas, the cut-out would also clear the windows and views
+        // below this one, so it has to happen in a layer which is then composited on top. This
+        // is only used on hardware canvases, where the layer is cheap.
+        int saveCount = canvas.saveLayer(0, 0, getWidth(), getHeight(), null, Canvas.ALL_SAVE_FLAG);
+        drawer.erase(canvas);
+        drawer.drawShowcase(canvas, showcaseX, showcaseY, scaleMultiplier);
+        canvas.restoreToCount(saveCount);
+    }
+
     @Override
     public void hide() {
+        stopTrackingTarget();
+        if (pendingTarget != null) {
+            pendingTarget.cancel();
+            pendingTarget = null;
+        }
         // If the type is set to one-shot, store that it has shot
         shotStateStore.storeShot();
         mEventListener.onShowcaseViewHide(this);
@@ -316,9 +906,10 @@ public class ShowcaseView extends RelativeLayout
     }
 
     private void clearBitmap() {
-        if (bitmapBuffer != null && !bitmapBuffer.isRecycled()) {
-            bitmapBuffer.recycle();
+        if (bitmapBuffer != null) {
+            BitmapPool.getInstance().release(bitmapBuffer);
             bitmapBuffer = null;
+            bufferCanvas = null;
         }
     }
 
@@ -364,22 +955,32 @@ public class ShowcaseView extends RelativeLayout
 
     @Override
     public boolean onTouch(View view, MotionEvent motionEvent) {
+        ShowcaseMetricsListener listener = getMetricsListener();
+        if (listener == null) {
+            return handleTouch(motionEvent);
+        }
+        long start = System.nanoTime();
+        boolean handled = handleTouch(motionEvent);
+        listener.onTouchHandled(this, System.nanoTime() - start);
+        return handled;
+    }
+
+    private boolean handleTouch(MotionEvent motionEvent) {
         if (blockAllTouches) {
             mEventListener.onShowcaseViewTouchBlocked(motionEvent);
             return true;
         }
 
-        float xDelta = Math.abs(motionEvent.getRawX() - showcaseX);
-        float yDelta = Math.abs(motionEvent.getRawY() - showcaseY);
-        double distanceFromFocus = Math.sqrt(Math.pow(xDelta, 2) + Math.pow(yDelta, 2));
+        boolean outsideShowcase = ShowcaseArea.isOutsideRadius(motionEvent.getRawX(), motionEvent.getRawY(),
+                showcaseX, showcaseY, showcaseDrawer.getBlockedRadius());
 
         if (MotionEvent.ACTION_UP == motionEvent.getAction() &&
-                hideOnTouch && distanceFromFocus > showcaseDrawer.getBlockedRadius()) {
+                hideOnTouch && outsideShowcase) {
             this.hide();
             return true;
         }
 
-        boolean blocked = blockTouches && distanceFromFocus > showcaseDrawer.getBlockedRadius();
+        boolean blocked = blockTouches && outsideShowcase;
         if (blocked) {
             mEventListener.onShowcaseViewTouchBlocked(motionEvent);
         }
@@ -402,38 +1003,101 @@ public class ShowcaseView extends RelativeLayout
 
     @Override
     public void setContentTitle(CharSequence title) {
-        textDrawer.setContentTitle(title);
+        if (textDrawer != null) {
+            boolean canInvalidatePartially = textDrawer.getTextBounds(previousDirtyBounds);
+            textDrawer.setContentTitle(title);
+            invalidateText(canInvalidatePartially);
+        }
     }
 
     @Override
     public void setContentText(CharSequence text) {
-        textDrawer.setContentText(text);
+        if (textDrawer != null) {
+            boolean canInvalidatePartially = textDrawer.getTextBounds(previousDirtyBounds);
+            textDrawer.setContentText(text);
+            invalidateText(canInvalidatePartially);
+        }
+    }
+
+    /**
+     * Redraw the text after it has changed. When the text is editable its layout has already
+     * reflowed, so only the area covered by the old and new text needs to be redrawn.
+     *
+     * @param canInvalidatePartially true if previousDirtyBounds holds the area the old text covered
+     */
+    private void invalidateText(boolean canInvalidatePartially) {
+        if (canInvalidatePartially && textDrawer.getTextBounds(dirtyBounds)) {
+            dirtyBounds.union(previousDirtyBounds);
+            invalidate(dirtyBounds);
+        } else {
+            invalidate();
+        }
+    }
+
+    private void setEditableContentText(boolean isTextEditable) {
+        textDrawer.setTextEditable(isTextEditable);
     }
 
     private void setScaleMultiplier(float scaleMultiplier) {
         this.scaleMultiplier = scaleMultiplier;
+        hasAlteredShowcase = true;
     }
 
     public void hideButton() {
-        mEndButton.setVisibility(GONE);
+        if (mEndButton != null) {
+            mEndButton.setVisibility(GONE);
+        }
     }
 
     public void showButton() {
-        mEndButton.setVisibility(VISIBLE);
+        if (mEndButton != null) {
+            mEndButton.setVisibility(VISIBLE);
+        }
     }
 
     /**
      * Builder class which allows easier creation of {@link ShowcaseView}s.
      * It is recommended that you use this Builder class.
+     * <p/>
+     * Nothing is created until {@link #build()} is called, and if the ShowcaseView has already
+     * been shown (see {@link #singleShot(long)}) it is never inflated or added to the layout.
      */
     public static class Builder {
 
-        private final ShowcaseView showcaseView;
+        private static final int DRAWER_HOLO = 0;
+        private static final int DRAWER_NEW_STYLE = 1;
+        private static final int DRAWER_MATERIAL = 2;
+
         private final Activity activity;
+        private final ShotStateStore shotStateStore;
 
         private ViewGroup parent;
         private int parentIndex;
 
+        private int drawerStyle;
+        private ShowcaseDrawer showcaseDrawer;
+        @RenderingMode
+        private int renderingMode = RENDERING_BUFFERED;
+        private int bufferScale = BUFFER_SCALE_AUTO;
+        private Target target = Target.NONE;
+        private CharSequence contentTitle;
+        private CharSequence contentText;
+        private int style;
+        private TextPaint contentTitlePaint;
+        private TextPaint contentTextPaint;
+        private Button endButton;
+        private int endButtonResourceId;
+        private OnClickListener onClickListener;
+        private boolean hasCustomClickListener;
+        private boolean blockTouches = true;
+        private boolean hideOnTouchOutside;
+        private boolean blockAllTouches;
+        private boolean tracksTarget;
+        private ShowcaseMetricsListener metricsListener;
+        private boolean precomputeText;
+        private boolean editableContentText;
+        private OnShowcaseEventListener showcaseEventListener;
+
         public Builder(Activity activity) {
             this(activity, false);
         }
@@ -446,8 +1110,8 @@ public class ShowcaseView extends RelativeLayout
         @Deprecated
         public Builder(Activity activity, boolean useNewStyle) {
             this.activity = activity;
-            this.showcaseView = new ShowcaseView(activity, useNewStyle);
-            this.showcaseView.setTarget(Target.NONE);
+            this.shotStateStore = new ShotStateStore(activity);
+            this.drawerStyle = useNewStyle ? DRAWER_NEW_STYLE : DRAWER_HOLO;
             this.parent = (ViewGroup) activity.findViewById(android.R.id.content);
             this.parentIndex = parent.getChildCount();
         }
@@ -458,16 +1122,90 @@ public class ShowcaseView extends RelativeLayout
          * @return the created ShowcaseView
          */
         public ShowcaseView build() {
+            boolean traced = ShowcaseTrace.beginSection("ShowcaseView#build");
+            ShowcaseView showcaseView = createShowcaseView();
+            ShowcaseTrace.endSection(traced);
+            return showcaseView;
+        }
+
+        private ShowcaseView createShowcaseView() {
+            if (shotStateStore.hasShot()) {
+                ShowcaseView showcaseView = new ShowcaseView(activity, shotStateStore);
+                if (showcaseEventListener != null) {
+                    showcaseView.setOnShowcaseEventListener(showcaseEventListener);
+                }
+                return showcaseView;
+            }
+
+            ShowcaseView showcaseView = new ShowcaseView(activity, null, R.styleable.CustomTheme_showcaseViewStyle,
+                    createShowcaseDrawer(), shotStateStore, createEndButton());
+            showcaseView.setRenderingMode(renderingMode);
+            showcaseView.setBufferScale(bufferScale);
+            if (style != 0) {
+                showcaseView.setStyle(style);
+            }
+            if (contentTitlePaint != null) {
+                showcaseView.setContentTitlePaint(contentTitlePaint);
+            }
+            if (contentTextPaint != null) {
+                showcaseView.setContentTextPaint(contentTextPaint);
+            }
+            showcaseView.setEditableContentText(editableContentText);
+            showcaseView.setContentTitle(contentTitle);
+            showcaseView.setContentText(contentText);
+            if (hasCustomClickListener) {
+                showcaseView.overrideButtonClick(onClickListener);
+            }
+            showcaseView.setBlocksTouches(blockTouches);
+            showcaseView.setHideOnTouchOutside(hideOnTouchOutside);
+            showcaseView.setBlockAllTouches(blockAllTouches);
+            showcaseView.setTracksTarget(tracksTarget);
+            showcaseView.setMetricsListener(metricsListener);
+            if (showcaseEventListener != null) {
+                showcaseView.setOnShowcaseEventListener(showcaseEventListener);
+            }
+            if (precomputeText) {
+                showcaseView.precomputeText(parent, target);
+            }
+            showcaseView.setTarget(target);
             insertShowcaseView(showcaseView, parent, parentIndex);
             return showcaseView;
         }
 
+        private ShowcaseDrawer createShowcaseDrawer() {
+            if (showcaseDrawer != null) {
+                return showcaseDrawer;
+            }
+            switch (drawerStyle) {
+                case DRAWER_NEW_STYLE:
+                    return new NewShowcaseDrawer(activity.getResources(), activity.getTheme());
+                case DRAWER_MATERIAL:
+                    return new MaterialShowcaseDrawer(activity.getResources());
+                default:
+                    return new StandardShowcaseDrawer(activity.getResources(), activity.getTheme());
+            }
+        }
+
+        /**
+         * @return the button which replaces the end button, or null to use the default one
+         */
+        private Button createEndButton() {
+            if (endButton != null || endButtonResourceId == 0) {
+                return endButton;
+            }
+            View view = LayoutInflater.from(activity).inflate(endButtonResourceId, parent, false);
+            if (!(view instanceof Button)) {
+                throw new IllegalArgumentException("Attempted to replace showcase button with a layout which isn't a button");
+            }
+            return (Button) view;
+        }
+
         /**
          * Draw a holo-style showcase. This is the default.<br/>
          * <img alt="Holo showcase example" src="../../../../../../../../example2.png" />
          */
         public Builder withHoloShowcase() {
-            return setShowcaseDrawer(new StandardShowcaseDrawer(activity.getResources(), activity.getTheme()));
+            return setShowcaseDrawerStyle(DRAWER_HOLO);
         }
 
         /**
@@ -475,7 +1213,7 @@ public class ShowcaseView extends RelativeLayout
          * <img alt="Holo showcase example" src="../../../../../../../../example.png" />
          */
         public Builder withNewStyleShowcase() {
-            return setShowcaseDrawer(new NewShowcaseDrawer(activity.getResources(), activity.getTheme()));
+            return setShowcaseDrawerStyle(DRAWER_NEW_STYLE);
         }
 
         /**
@@ -483,14 +1221,50 @@ public class ShowcaseView extends RelativeLayout
          * <img alt="Material showcase" src="../../../../../../../../material.png" />
          */
         public Builder withMaterialShowcase() {
-            return setShowcaseDrawer(new MaterialShowcaseDrawer(activity.getResources()));
+            return setShowcaseDrawerStyle(DRAWER_MATERIAL);
+        }
+
+        private Builder setShowcaseDrawerStyle(int drawerStyle) {
+            this.drawerStyle = drawerStyle;
+            this.showcaseDrawer = null;
+            return this;
         }
 
         /**
          * Set a custom showcase drawer which will be responsible for measuring and drawing the showcase
          */
         public Builder setShowcaseDrawer(ShowcaseDrawer showcaseDrawer) {
-            showcaseView.setShowcaseDrawer(showcaseDrawer);
+            this.showcaseDrawer = showcaseDrawer;
+            return this;
+        }
+
+        /**
+         * Set how the showcase is rendered. {@link #RENDERING_BUFFERED} (the default) draws
+         * into a full-screen bitmap, while {@link #RENDERING_DIRECT} draws straight onto the
+         * view's canvas and doesn't allocate a bitmap at all. Direct rendering requires a
+         * {@link CanvasShowcaseDrawer}, which all of the built-in drawers are, and a hardware
+         * accelerated window; otherwise the showcase is buffered.
+         * {@link #RENDERING_ALPHA_MASK} draws into a full-screen bitmap which only holds alpha,
+         * using a quarter of the memory, and requires a {@link MaskShowcaseDrawer}, which all
+         * of the built-in drawers also are. A mask can't hold colour, so the new style showcase
+         * (see {@link #withNewStyleShowcase()}) looks slightly different: its ring is stroked
+         * with the showcase colour at 60% of the background's opacity, rather than tinting the
+         * background behind it.
+         */
+        public Builder setRenderingMode(@RenderingMode int renderingMode) {
+            this.renderingMode = renderingMode;
+            return this;
+        }
+
+        /**
+         * Set the resolution of the buffer used by {@link #RENDERING_BUFFERED} and
+         * {@link #RENDERING_ALPHA_MASK}, relative to the screen. A half resolution buffer uses
+         * a quarter of the memory, and a quarter resolution one a sixteenth, at the cost of
+         * softer edges. By default ({@link #BUFFER_SCALE_AUTO}) low RAM devices get a reduced
+         * resolution buffer. Reduced resolution requires a {@link CanvasShowcaseDrawer}.
+         */
+        public Builder setBufferScale(@BufferScale int bufferScale) {
+            this.bufferScale = bufferScale;
             return this;
         }
 
@@ -505,7 +1279,7 @@ public class ShowcaseView extends RelativeLayout
          * Set the title text shown on the ShowcaseView.
          */
         public Builder setContentTitle(CharSequence title) {
-            showcaseView.setContentTitle(title);
+            this.contentTitle = title;
             return this;
         }
 
@@ -520,7 +1294,7 @@ public class ShowcaseView extends RelativeLayout
          * Set the descriptive text shown on the ShowcaseView.
          */
         public Builder setContentText(CharSequence text) {
-            showcaseView.setContentText(text);
+            this.contentText = text;
             return this;
         }
 
@@ -531,7 +1305,7 @@ public class ShowcaseView extends RelativeLayout
          *               the item to showcase (e.g., a button, or action item).
          */
         public Builder setTarget(Target target) {
-            showcaseView.setTarget(target);
+            this.target = target;
             return this;
         }
 
@@ -539,7 +1313,7 @@ public class ShowcaseView extends RelativeLayout
          * Set the style of the ShowcaseView. See the sample app for example styles.
          */
         public Builder setStyle(int theme) {
-            showcaseView.setStyle(theme);
+            this.style = theme;
             return this;
         }
 
@@ -549,7 +1323,8 @@ public class ShowcaseView extends RelativeLayout
          * Note that you will have to manually hide the ShowcaseView
          */
         public Builder setOnClickListener(OnClickListener onClickListener) {
-            showcaseView.overrideButtonClick(onClickListener);
+            this.onClickListener = onClickListener;
+            this.hasCustomClickListener = true;
             return this;
         }
 
@@ -560,7 +1335,7 @@ public class ShowcaseView extends RelativeLayout
          * By default, the ShowcaseView does block touches
          */
         public Builder doNotBlockTouches() {
-            showcaseView.setBlocksTouches(false);
+            this.blockTouches = false;
             return this;
         }
 
@@ -571,8 +1346,8 @@ public class ShowcaseView extends RelativeLayout
          * By default, the ShowcaseView doesn't hide on touch.
          */
         public Builder hideOnTouchOutside() {
-            showcaseView.setBlocksTouches(true);
-            showcaseView.setHideOnTouchOutside(true);
+            this.blockTouches = true;
+            this.hideOnTouchOutside = true;
             return this;
         }
 
@@ -583,12 +1358,57 @@ public class ShowcaseView extends RelativeLayout
          *               whether this ShowcaseView has been shown.
          */
         public Builder singleShot(long shotId) {
-            showcaseView.setSingleShot(shotId);
+            shotStateStore.setSingleShot(shotId);
+            return this;
+        }
+
+        /**
+         * Store whether single shot ShowcaseViews have been shown in a compact memory-mapped file,
+         * rather than SharedPreferences. This keeps lookups and writes cheap for apps with
+         * a large number of shot ids. Ids already stored in SharedPreferences are migrated the
+         * first time this is used.
+         * <p/>
+         * Once an app has used this, it should use it for all of its single shot ShowcaseViews.
+         */
+        public Builder useMappedShotStorage() {
+            shotStateStore.useMappedStorage();
+            return this;
+        }
+
+        /**
+         * Receive measurements of the work this ShowcaseView does, such as how long each frame
+         * takes to draw. This takes precedence over any global listener.
+         *
+         * @see ShowcaseView#setGlobalMetricsListener(ShowcaseMetricsListener)
+         */
+        public Builder setMetricsListener(ShowcaseMetricsListener metricsListener) {
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        /**
+         * Lay out the title and text on a background thread when the ShowcaseView is built, rather
+         * than on the UI thread when it is first drawn. This helps with long or heavily styled
+         * text. It only happens if the parent and target have already been laid out.
+         */
+        public Builder precomputeText() {
+            this.precomputeText = true;
+            return this;
+        }
+
+        /**
+         * Keep the content text in an editable buffer, so that calling
+         * {@link ShowcaseView#setContentText(CharSequence)} whilst the showcase is visible only
+         * reflows the paragraphs that changed. Use this for text which changes often, such as
+         * a countdown or progress.
+         */
+        public Builder useEditableContentText() {
+            this.editableContentText = true;
             return this;
         }
 
         public Builder setShowcaseEventListener(OnShowcaseEventListener showcaseEventListener) {
-            showcaseView.setOnShowcaseEventListener(showcaseEventListener);
+            this.showcaseEventListener = showcaseEventListener;
             return this;
         }
 
@@ -604,7 +1424,7 @@ public class ShowcaseView extends RelativeLayout
          * then this {@link TextPaint} will override that TextAppearance.
          */
         public Builder setContentTextPaint(TextPaint textPaint) {
-            showcaseView.setContentTextPaint(textPaint);
+            this.contentTextPaint = textPaint;
             return this;
         }
 
@@ -614,36 +1434,47 @@ public class ShowcaseView extends RelativeLayout
          * then this {@link TextPaint} will override that TextAppearance.
          */
         public Builder setContentTitlePaint(TextPaint textPaint) {
-            showcaseView.setContentTitlePaint(textPaint);
+            this.contentTitlePaint = textPaint;
             return this;
         }
 
         /**
-         * Replace the end button with the one provided. Note that this resets any OnClickListener provided
-         * by {@link #setOnClickListener(OnClickListener)}, so call this method before that one.
+         * Replace the end button with the one provided. Any OnClickListener provided
+         * by {@link #setOnClickListener(OnClickListener)} is applied to the new button.
          */
         public Builder replaceEndButton(Button button) {
-            showcaseView.setEndButton(button);
+            this.endButton = button;
+            this.endButtonResourceId = 0;
             return this;
         }
 
         /**
-         * Replace the end button with the one provided. Note that this resets any OnClickListener provided
-         * by {@link #setOnClickListener(OnClickListener)}, so call this method before that one.
+         * Replace the end button with the one provided. Any OnClickListener provided
+         * by {@link #setOnClickListener(OnClickListener)} is applied to the new button.
+         * The layout is inflated when the ShowcaseView is built, and must be a {@link Button}.
          */
         public Builder replaceEndButton(int buttonResourceId) {
-            View view = LayoutInflater.from(activity).inflate(buttonResourceId, showcaseView, false);
-            if (!(view instanceof Button)) {
-                throw new IllegalArgumentException("Attempted to replace showcase button with a layout which isn't a button");
-            }
-            return replaceEndButton((Button) view);
+            this.endButtonResourceId = buttonResourceId;
+            this.endButton = null;
+            return this;
         }
 
         /**
          * Block any touch made on the ShowcaseView, even inside the showcase
          */
         public Builder blockAllTouches() {
-            showcaseView.setBlockAllTouches(true);
+            this.blockAllTouches = true;
+            return this;
+        }
+
+        /**
+         * Keep the showcase on the target as it moves, for example when it scrolls or is laid out
+         * again. This only applies to targets which implement
+         * {@link com.github.amlcurran.showcaseview.targets.TrackingTarget}, such as
+         * {@link com.github.amlcurran.showcaseview.targets.ViewTarget}.
+         */
+        public Builder trackTarget() {
+            this.tracksTarget = true;
             return this;
         }
 
@@ -658,21 +1489,23 @@ public class ShowcaseView extends RelativeLayout
         }
     }
 
-    private void setEndButton(Button button) {
-        LayoutParams copyParams = (LayoutParams) mEndButton.getLayoutParams();
-        mEndButton.setOnClickListener(null);
-        removeView(mEndButton);
-        mEndButton = button;
-        button.setOnClickListener(hideOnClickListener);
-        button.setLayoutParams(copyParams);
-        addView(button);
+    private void setRenderingMode(@RenderingMode int renderingMode) {
+        this.renderingMode = renderingMode;
+        if (canUpdateBitmap()) {
+            updateBitmap();
+        }
+        invalidate();
     }
 
-    private void setShowcaseDrawer(ShowcaseDrawer showcaseDrawer) {
-        this.showcaseDrawer = showcaseDrawer;
-        this.showcaseDrawer.setBackgroundColour(backgroundColor);
-        this.showcaseDrawer.setShowcaseColour(showcaseColor);
-        hasAlteredText = true;
+    private void setBufferScale(@BufferScale int bufferScale) {
+        if (bufferScale == BUFFER_SCALE_AUTO) {
+            bufferScale = chooseBufferScale(getContext());
+        }
+        this.bufferScale = bufferScale;
+        maskPaint.setFilterBitmap(bufferScale != BUFFER_SCALE_FULL);
+        if (canUpdateBitmap()) {
+            updateBitmap();
+        }
         invalidate();
     }
 
@@ -697,13 +1530,6 @@ public class ShowcaseView extends RelativeLayout
         invalidate();
     }
 
-    /**
-     * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#setSingleShot(long)
-     */
-    private void setSingleShot(long shotId) {
-        shotStateStore.setSingleShot(shotId);
-    }
-
     /**
      * Change the position of the ShowcaseView's button from the default bottom-right position.
      *
@@ -712,13 +1538,18 @@ public class ShowcaseView extends RelativeLayout
      */
     @Override
     public void setButtonPosition(RelativeLayout.LayoutParams layoutParams) {
-        mEndButton.setLayoutParams(layoutParams);
+        if (mEndButton != null) {
+            mEndButton.setLayoutParams(layoutParams);
+        }
     }
 
     /**
      * Sets the text alignment of the detail text
      */
     public void setDetailTextAlignment(Layout.Alignment textAlignment) {
+        if (textDrawer == null) {
+            return;
+        }
         textDrawer.setDetailTextAlignment(textAlignment);
         hasAlteredText = true;
         invalidate();
@@ -728,6 +1559,9 @@ public class ShowcaseView extends RelativeLayout
      * Sets the text alignment of the title text
      */
     public void setTitleTextAlignment(Layout.Alignment textAlignment) {
+        if (textDrawer == null) {
+            return;
+        }
         textDrawer.setTitleTextAlignment(textAlignment);
         hasAlteredText = true;
         invalidate();
@@ -742,6 +1576,9 @@ public class ShowcaseView extends RelativeLayout
     }
 
     public void forceTextPosition(@TextPosition int textPosition) {
+        if (textDrawer == null) {
+            return;
+        }
         textDrawer.forceTextPosition(textPosition);
         hasAlteredText = true;
         invalidate();
@@ -767,11 +1604,51 @@ public class ShowcaseView extends RelativeLayout
         this.blockAllTouches = blockAllTouches;
     }
 
+    private void setTracksTarget(boolean tracksTarget) {
+        this.tracksTarget = tracksTarget;
+    }
+
+    private void setMetricsListener(ShowcaseMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Start laying out the text in the background, if the parent and the target have been laid
+     * out so that it's possible to work out where the text will go. The ShowcaseView will fill
+     * the parent, so the parent's size is used as the size of the ShowcaseView.
+     */
+    private void precomputeText(ViewGroup parent, Target target) {
+        int width = parent.getWidth();
+        int height = parent.getHeight();
+        if (width == 0 || height == 0 || textDrawer == null) {
+            return;
+        }
+        if (target instanceof ViewTarget && !((ViewTarget) target).isReady()) {
+            return;
+        }
+        Rect showcase = new Rect();
+        if (getTargetPoint(target, targetPoint)) {
+            parent.getLocationInWindow(positionInWindow);
+            int x = targetPoint.x - positionInWindow[0];
+            int y = targetPoint.y - positionInWindow[1];
+            if (x != 1000000 && y != 1000000) {
+                getTargetBounds(target, targetPoint.x, targetPoint.y, targetBounds);
+                ShowcaseAreaCalculator calculator = new ShowcaseAreaCalculator();
+                calculator.calculateShowcaseRect(x, y, targetBounds, showcaseDrawer);
+                showcase.set(calculator.getShowcaseRect());
+            }
+        }
+        textDrawer.precomputeLayout(width, height, shouldCentreText, showcase);
+    }
+
     /**
      * @see com.github.amlcurran.showcaseview.ShowcaseView.Builder#setStyle(int)
      */
     @Override
     public void setStyle(int theme) {
+        if (showcaseDrawer == null) {
+            return;
+        }
         TypedArray array = getContext().obtainStyledAttributes(theme, R.styleable.ShowcaseView);
         updateStyle(array, true);
     }
@@ -782,6 +1659,7 @@ public class ShowcaseView extends RelativeLayout
     }
 
     private void updateStyle(TypedArray styled, boolean invalidate) {
+        boolean traced = ShowcaseTrace.beginSection("ShowcaseView#updateStyle");
         backgroundColor = styled.getColor(R.styleable.ShowcaseView_sv_backgroundColor, Color.argb(128, 80, 80, 80));
         showcaseColor = styled.getColor(R.styleable.ShowcaseView_sv_showcaseColor, HOLO_BLUE);
         String buttonText = styled.getString(R.styleable.ShowcaseView_sv_buttonText);
@@ -799,22 +1677,30 @@ public class ShowcaseView extends RelativeLayout
 
         showcaseDrawer.setShowcaseColour(showcaseColor);
         showcaseDrawer.setBackgroundColour(backgroundColor);
-        tintButton(showcaseColor, tintButton);
-        mEndButton.setText(buttonText);
+        maskPaint.setColor(backgroundColor);
+        if (!hasCustomEndButton) {
+            tintButton(showcaseColor, tintButton);
+            mEndButton.setText(buttonText);
+        }
         textDrawer.setTitleStyling(titleTextAppearance);
         textDrawer.setDetailStyling(detailTextAppearance);
         hasAlteredText = true;
+        // A mask holds no colour, so new colours are picked up without drawing it again
+        if (!usesAlphaMask()) {
+            hasAlteredShowcase = true;
+        }
 
         if (invalidate) {
             invalidate();
         }
+        ShowcaseTrace.endSection(traced);
     }
 
     private void tintButton(int showcaseColor, boolean tintButton) {
         if (tintButton) {
             mEndButton.getBackground().setColorFilter(showcaseColor, PorterDuff.Mode.MULTIPLY);
         } else {
-            mEndButton.getBackground().setColorFilter(HOLO_BLUE, PorterDuff.Mode.MULTIPLY);
+            mEndButton.getBackground().clearColorFilter();
         }
     }
 
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+/**
+ * Basic implementation of {@link ShowcaseMetricsListener} which does nothing
+ * for each measurement, but can be overridden for each one.
+ */
+public class SimpleShowcaseMetricsListener implements ShowcaseMetricsListener {
+
+    @Override
+    public void onFrameDrawn(ShowcaseView showcaseView, long durationNanos) {
+        // Override to do stuff
+    }
+
+    @Override
+    public void onBufferAcquired(ShowcaseView showcaseView, int width, int height, long byteCount, boolean reused) {
+        // Override to do stuff
+    }
+
+    @Override
+    public void onTextLaidOut(ShowcaseView showcaseView, long durationNanos) {
+        // Override to do stuff
+    }
+
+    @Override
+    public void onTargetShown(ShowcaseView showcaseView, long latencyNanos) {
+        // Override to do stuff
+    }
+
+    @Override
+    public void onTouchHandled(ShowcaseView showcaseView, long durationNanos) {
+        // Override to do stuff
+    }
+
+}
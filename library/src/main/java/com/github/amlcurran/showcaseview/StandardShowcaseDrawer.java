@@ -22,14 +22,16 @@ import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.PorterDuff;
 import android.graphics.PorterDuffXfermode;
+import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
-import android.support.v4.content.res.ResourcesCompat;
 
-class StandardShowcaseDrawer implements ShowcaseDrawer {
+class StandardShowcaseDrawer implements CanvasShowcaseDrawer, BoundedShowcaseDrawer, MaskShowcaseDrawer {
 
     protected final Paint eraserPaint;
     protected final Drawable showcaseDrawable;
+    private final Resources resources;
     private final Paint basicPaint;
+    private Bitmap showcaseSprite;
     private final float showcaseRadius;
     protected int backgroundColour;
 
@@ -41,27 +43,56 @@ class StandardShowcaseDrawer implements ShowcaseDrawer {
         eraserPaint.setXfermode(xfermode);
         eraserPaint.setAntiAlias(true);
         basicPaint = new Paint();
+        basicPaint.setFilterBitmap(true);
         showcaseRadius = resources.getDimension(R.dimen.showcase_radius);
-        showcaseDrawable = ResourcesCompat.getDrawable(resources, R.drawable.cling_bleached, theme);
+        showcaseDrawable = ResourceCache.getShowcaseDrawable(resources, theme);
+        this.resources = resources;
     }
 
     @Override
     public void setShowcaseColour(int color) {
         showcaseDrawable.setColorFilter(color, PorterDuff.Mode.MULTIPLY);
+        showcaseSprite = ResourceCache.getShowcaseSprite(resources, showcaseDrawable, color);
     }
 
     @Override
     public void drawShowcase(Bitmap buffer, float x, float y, float scaleMultiplier) {
-        Canvas bufferCanvas = new Canvas(buffer);
-        bufferCanvas.drawCircle(x, y, showcaseRadius, eraserPaint);
+        drawShowcase(new Canvas(buffer), x, y, scaleMultiplier);
+    }
+
+    @Override
+    public void drawShowcase(Canvas canvas, float x, float y, float scaleMultiplier) {
+        drawShowcaseMask(canvas, x, y, scaleMultiplier);
+        drawShowcaseOverlay(canvas, x, y, scaleMultiplier);
+    }
+
+    @Override
+    public void drawShowcaseMask(Canvas mask, float x, float y, float scaleMultiplier) {
+        mask.drawCircle(x, y, showcaseRadius, eraserPaint);
+    }
+
+    @Override
+    public void drawShowcaseOverlay(Canvas canvas, float x, float y, float scaleMultiplier) {
         int halfW = getShowcaseWidth() / 2;
         int halfH = getShowcaseHeight() / 2;
         int left = (int) (x - halfW);
         int top = (int) (y - halfH);
+        if (showcaseSprite != null) {
+            canvas.drawBitmap(showcaseSprite, left, top, basicPaint);
+            return;
+        }
         showcaseDrawable.setBounds(left, top,
                 left + getShowcaseWidth(),
                 top + getShowcaseHeight());
-        showcaseDrawable.draw(bufferCanvas);
+        showcaseDrawable.draw(canvas);
+    }
+
+    @Override
+    public void getDirtyBounds(float x, float y, float scaleMultiplier, Rect outBounds) {
+        getCircleBounds(x, y, showcaseRadius, outBounds);
+        int left = (int) (x - getShowcaseWidth() / 2);
+        int top = (int) (y - getShowcaseHeight() / 2);
+        outBounds.union(left, top, left + getShowcaseWidth(), top + getShowcaseHeight());
     }
 
     @Override
@@ -89,9 +120,20 @@ class StandardShowcaseDrawer implements ShowcaseDrawer {
         bitmapBuffer.eraseColor(backgroundColour);
     }
 
+    @Override
+    public void erase(Canvas canvas) {
+        canvas.drawColor(backgroundColour, PorterDuff.Mode.SRC);
+    }
+
     @Override
     public void drawToCanvas(Canvas canvas, Bitmap bitmapBuffer) {
         canvas.drawBitmap(bitmapBuffer, 0, 0, basicPaint);
     }
 
+    static void getCircleBounds(float x, float y, float radius, Rect outBounds) {
+        // Pad by a pixel to cover anti-aliasing
+        outBounds.set((int) (x - radius) - 1, (int) (y - radius) - 1,
+                (int) Math.ceil(x + radius) + 1, (int) Math.ceil(y + radius) + 1);
+    }
+
 }
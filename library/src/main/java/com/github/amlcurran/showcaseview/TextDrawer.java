@@ -20,13 +20,19 @@ import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.Canvas;
 import android.graphics.Rect;
-import android.text.DynamicLayout;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Layout;
+import android.text.Editable;
+import android.text.Spannable;
 import android.text.SpannableString;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
 import android.text.TextPaint;
 import android.text.TextUtils;
 import android.text.style.MetricAffectingSpan;
-import android.text.style.TextAppearanceSpan;
+
+import com.github.amlcurran.showcaseview.core.TextPlacement;
 
 /**
  * Draws the text as required by the ShowcaseView
@@ -40,27 +46,30 @@ class TextDrawer {
     private final TextPaint titlePaint;
     private final TextPaint textPaint;
     private final Context context;
-    private final float padding;
-    private final float actionBarOffset;
+    private final TextPlacement textPlacement;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
 
     private Layout.Alignment textAlignment = Layout.Alignment.ALIGN_NORMAL;
-    private SpannableString textString;
-    private DynamicLayout textLayout;
+    private Spannable textString;
+    private boolean isTextEditable;
+    private MetricAffectingSpan editableTextSpan;
+    private Layout textLayout;
+    private final TextLayoutCache textLayoutCache = new TextLayoutCache(1.2f, 1.0f);
     private MetricAffectingSpan textSpan;
 
     private Layout.Alignment titleAlignment = Layout.Alignment.ALIGN_NORMAL;
     private SpannableString titleString;
-    private DynamicLayout titleLayout;
+    private Layout titleLayout;
+    private final TextLayoutCache titleLayoutCache = new TextLayoutCache(1.0f, 1.0f);
     private MetricAffectingSpan titleSpan;
 
     private float[] mBestTextPosition = new float[3];
-    private boolean hasRecalculated;
-    @ShowcaseView.TextPosition
-    private int forcedTextPosition = ShowcaseView.UNDEFINED;
+    private int layoutWidth = -1;
+    private int changeCount;
 
     public TextDrawer(Resources resources, Context context) {
-        padding = resources.getDimension(R.dimen.text_padding);
-        actionBarOffset = resources.getDimension(R.dimen.action_bar_offset);
+        textPlacement = new TextPlacement(resources.getDimension(R.dimen.text_padding),
+                resources.getDimension(R.dimen.action_bar_offset));
 
         this.context = context;
 
@@ -73,41 +82,114 @@ class TextDrawer {
 
     public void draw(Canvas canvas) {
         if (shouldDrawText()) {
+            layout();
             float[] textPosition = getBestTextPosition();
-            int width = Math.max(0, (int) mBestTextPosition[INDEX_TEXT_WIDTH]);
 
-            if (!TextUtils.isEmpty(titleString)) {
+            if (!TextUtils.isEmpty(titleString) && titleLayout != null) {
                 canvas.save();
-                if (hasRecalculated) {
-                    titleLayout = new DynamicLayout(titleString, titlePaint,
-                                                            width, titleAlignment, 1.0f, 1.0f, true);
-                }
-                if (titleLayout != null) {
-                    canvas.translate(textPosition[INDEX_TEXT_START_X], textPosition[INDEX_TEXT_START_Y]);
-                    titleLayout.draw(canvas);
-                    canvas.restore();
-                }
+                canvas.translate(textPosition[INDEX_TEXT_START_X], textPosition[INDEX_TEXT_START_Y]);
+                titleLayout.draw(canvas);
+                canvas.restore();
             }
 
-            if (!TextUtils.isEmpty(textString)) {
-                canvas.save();
-                if (hasRecalculated) {
-                    textLayout = new DynamicLayout(textString, textPaint,
-                                                             width, textAlignment, 1.2f, 1.0f, true);
-                }
+            if (!TextUtils.isEmpty(textString) && textLayout != null) {
                 float offsetForTitle = titleLayout != null ? titleLayout.getHeight() : 0;
-                if (textLayout != null) {
-                    canvas.translate(textPosition[INDEX_TEXT_START_X], textPosition[INDEX_TEXT_START_Y] + offsetForTitle);
-                    textLayout.draw(canvas);
-                    canvas.restore();
-                }
-
+                canvas.save();
+                canvas.translate(textPosition[INDEX_TEXT_START_X], textPosition[INDEX_TEXT_START_Y] + offsetForTitle);
+                textLayout.draw(canvas);
+                canvas.restore();
             }
         }
-        hasRecalculated = false;
+    }
+
+    /**
+     * @return a count which changes whenever anything that {@link #draw(Canvas)} draws has
+     * changed, so that what was last drawn can be kept until it does
+     */
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    private void markChanged() {
+        changeCount++;
+    }
+
+    /**
+     * @return true if the text has to be laid out again before it is next drawn
+     */
+    public boolean needsLayout() {
+        if (!shouldDrawText()) {
+            return false;
+        }
+        int width = getTextWidth();
+        return !titleLayoutCache.isValid(titleString, titlePaint, width, titleAlignment)
+                || !textLayoutCache.isValid(textString, textPaint, width, textAlignment);
+    }
+
+    /**
+     * Lay out the text at its current width. This happens the next time the text is drawn
+     * anyway, but can be called beforehand to measure how long it takes. Layouts are only
+     * rebuilt if the text, its paint, width or alignment have changed.
+     */
+    public void layout() {
+        int width = getTextWidth();
+        layoutWidth = width;
+        titleLayout = titleLayoutCache.getLayout(titleString, titlePaint, width, titleAlignment);
+        textLayout = textLayoutCache.getLayout(textString, textPaint, width, textAlignment);
+    }
+
+    private int getTextWidth() {
+        return Math.max(0, (int) mBestTextPosition[INDEX_TEXT_WIDTH]);
+    }
+
+    /**
+     * Calculates the area the text will be drawn into at its current position
+     *
+     * @param outBounds set to the area covered by the text
+     * @return false if the size of the text isn't known, because it hasn't been laid out at its
+     * current width or since it last changed
+     */
+    public boolean getTextBounds(Rect outBounds) {
+        if (!shouldDrawText()) {
+            outBounds.setEmpty();
+            return true;
+        }
+        boolean missingTitle = !TextUtils.isEmpty(titleString) && titleLayout == null;
+        boolean missingText = !TextUtils.isEmpty(textString) && textLayout == null;
+        if (missingTitle || missingText || layoutWidth != getTextWidth() || needsLayout()) {
+            return false;
+        }
+        int height = 0;
+        if (titleLayout != null) {
+            height += titleLayout.getHeight();
+        }
+        if (textLayout != null) {
+            height += textLayout.getHeight();
+        }
+        float left = mBestTextPosition[INDEX_TEXT_START_X];
+        float top = mBestTextPosition[INDEX_TEXT_START_Y];
+        outBounds.set((int) left - 1, (int) top - 1,
+                (int) Math.ceil(left + layoutWidth) + 1, (int) Math.ceil(top + height) + 1);
+        return true;
+    }
+
+    /**
+     * Keep the content text in a single editable buffer, so that changing it only reflows the
+     * paragraphs which changed rather than laying out all of the text again. This suits text
+     * which changes often whilst the showcase is visible, such as a countdown.
+     */
+    public void setTextEditable(boolean isTextEditable) {
+        this.isTextEditable = isTextEditable;
     }
 
     public void setContentText(CharSequence details) {
+        markChanged();
+        if (isTextEditable) {
+            if (details != null) {
+                setEditableContentText(details);
+            }
+            return;
+        }
         if (details != null) {
             SpannableString ssbDetail = new SpannableString(details);
             ssbDetail.setSpan(textSpan, 0, ssbDetail.length(), 0);
@@ -115,7 +197,46 @@ class TextDrawer {
         }
     }
 
+    /**
+     * Replace only the part of the text which has changed, so that the DynamicLayout watching
+     * the buffer only reflows the paragraphs that part is in
+     */
+    private void setEditableContentText(CharSequence details) {
+        if (!(textString instanceof Editable)) {
+            SpannableStringBuilder buffer = new SpannableStringBuilder(details);
+            buffer.setSpan(textSpan, 0, buffer.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+            editableTextSpan = textSpan;
+            textString = buffer;
+            return;
+        }
+        Editable buffer = (Editable) textString;
+        if (details == buffer) {
+            // Only the styling has changed
+            buffer.removeSpan(editableTextSpan);
+            buffer.setSpan(textSpan, 0, buffer.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+            editableTextSpan = textSpan;
+            return;
+        }
+
+        int oldLength = buffer.length();
+        int newLength = details.length();
+        int start = 0;
+        while (start < oldLength && start < newLength && buffer.charAt(start) == details.charAt(start)) {
+            start++;
+        }
+        int oldEnd = oldLength;
+        int newEnd = newLength;
+        while (oldEnd > start && newEnd > start && buffer.charAt(oldEnd - 1) == details.charAt(newEnd - 1)) {
+            oldEnd--;
+            newEnd--;
+        }
+        if (start != oldEnd || start != newEnd) {
+            buffer.replace(start, oldEnd, details, start, newEnd);
+        }
+    }
+
     public void setContentTitle(CharSequence title) {
+        markChanged();
         if (title != null) {
             SpannableString ssbTitle = new SpannableString(title);
             ssbTitle.setSpan(titleSpan, 0, ssbTitle.length(), 0);
@@ -131,79 +252,72 @@ class TextDrawer {
      * @param showcase
      */
     public void calculateTextPosition(int canvasW, int canvasH, boolean shouldCentreText, Rect showcase) {
-
-        int[] areas = new int[4]; //left, top, right, bottom
-    	areas[ShowcaseView.LEFT_OF_SHOWCASE] = showcase.left * canvasH;
-    	areas[ShowcaseView.ABOVE_SHOWCASE] = showcase.top * canvasW;
-    	areas[ShowcaseView.RIGHT_OF_SHOWCASE] = (canvasW - showcase.right) * canvasH;
-    	areas[ShowcaseView.BELOW_SHOWCASE] = (canvasH - showcase.bottom) * canvasW;
-    	
-    	int largest = 0;
-    	for(int i = 1; i < areas.length; i++) {
-    		if(areas[i] > areas[largest])
-    			largest = i;
-    	}
-
-        if (forcedTextPosition != ShowcaseView.UNDEFINED) {
-            largest = forcedTextPosition;
+        textPlacement.calculate(canvasW, canvasH, shouldCentreText,
+                showcase.left, showcase.top, showcase.right, showcase.bottom);
+        if (mBestTextPosition[INDEX_TEXT_START_X] != textPlacement.getStartX()
+                || mBestTextPosition[INDEX_TEXT_START_Y] != textPlacement.getStartY()
+                || mBestTextPosition[INDEX_TEXT_WIDTH] != textPlacement.getWidth()) {
+            markChanged();
         }
+        mBestTextPosition[INDEX_TEXT_START_X] = textPlacement.getStartX();
+        mBestTextPosition[INDEX_TEXT_START_Y] = textPlacement.getStartY();
+        mBestTextPosition[INDEX_TEXT_WIDTH] = textPlacement.getWidth();
+    }
 
-    	// Position text in largest area
-    	switch(largest) {
-    	case ShowcaseView.LEFT_OF_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = padding;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = showcase.left - 2 * padding;
-    		break;
-    	case ShowcaseView.ABOVE_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = padding + actionBarOffset;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = canvasW - 2 * padding;
-    		break;
-    	case ShowcaseView.RIGHT_OF_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = showcase.right + padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = padding;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = (canvasW - showcase.right) - 2 * padding;
-    		break;
-    	case ShowcaseView.BELOW_SHOWCASE:
-    		mBestTextPosition[INDEX_TEXT_START_X] = padding;
-    		mBestTextPosition[INDEX_TEXT_START_Y] = showcase.bottom + padding;
-    		mBestTextPosition[INDEX_TEXT_WIDTH] = canvasW - 2 * padding;
-    		break;
-    	}
-    	if(shouldCentreText) {
-	    	// Center text vertically or horizontally
-	    	switch(largest) {
-	    	case ShowcaseView.LEFT_OF_SHOWCASE:
-	    	case ShowcaseView.RIGHT_OF_SHOWCASE:
-	    		mBestTextPosition[INDEX_TEXT_START_Y] += canvasH / 4;
-	    		break;
-	    	case ShowcaseView.ABOVE_SHOWCASE:
-	    	case ShowcaseView.BELOW_SHOWCASE:
-	    		mBestTextPosition[INDEX_TEXT_WIDTH] /= 2;
-	    		mBestTextPosition[INDEX_TEXT_START_X] += canvasW / 4;
-	    		break;
-	    	} 
-    	} else {
-    		// As text is not centered add actionbar padding if the text is left or right
-	    	switch(largest) {
-	    		case ShowcaseView.LEFT_OF_SHOWCASE:
-	    		case ShowcaseView.RIGHT_OF_SHOWCASE:
-	    			mBestTextPosition[INDEX_TEXT_START_Y] += actionBarOffset;
-	    			break;
-	    	}
-    	}
-
-        hasRecalculated = true;
+    /**
+     * Lay out the text on a background thread, for where it will be placed once the showcase
+     * has been laid out. The layouts are cached on the UI thread when they're ready, so if that
+     * happens before the text is first drawn then drawing it doesn't need to lay it out.
+     */
+    public void precomputeLayout(int canvasW, int canvasH, boolean shouldCentreText, Rect showcase) {
+        if (!shouldDrawText()) {
+            return;
+        }
+        textPlacement.calculate(canvasW, canvasH, shouldCentreText,
+                showcase.left, showcase.top, showcase.right, showcase.bottom);
+        final int width = Math.max(0, (int) textPlacement.getWidth());
+
+        // The layouts are made from copies, so that changes made on the UI thread in the
+        // meantime can't affect them. They are cached against the originals.
+        final SpannableString title = titleString;
+        // Editable text uses a DynamicLayout which follows its edits, so can't be laid out early
+        final Spannable text = isTextEditable ? null : textString;
+        final TextPaint titlePaint = this.titlePaint;
+        final TextPaint textPaint = this.textPaint;
+        final Layout.Alignment titleAlignment = this.titleAlignment;
+        final Layout.Alignment textAlignment = this.textAlignment;
+        final SpannableString titleCopy = title == null ? null : new SpannableString(title);
+        final SpannableString textCopy = text == null ? null : new SpannableString(text);
+        final TextPaint titlePaintCopy = new TextPaint(titlePaint);
+        final TextPaint textPaintCopy = new TextPaint(textPaint);
+
+        BackgroundExecutor.get().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Layout titleLayout = titleLayoutCache.createLayout(titleCopy, titlePaintCopy, width, titleAlignment);
+                final Layout textLayout = textLayoutCache.createLayout(textCopy, textPaintCopy, width, textAlignment);
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!titleLayoutCache.isValid(title, titlePaint, width, titleAlignment)) {
+                            titleLayoutCache.put(title, titlePaint, width, titleAlignment, titleLayout);
+                        }
+                        if (!textLayoutCache.isValid(text, textPaint, width, textAlignment)) {
+                            textLayoutCache.put(text, textPaint, width, textAlignment, textLayout);
+                        }
+                    }
+                });
+            }
+        });
     }
 
     public void setTitleStyling(int styleId) {
-        titleSpan = new TextAppearanceSpan(this.context, styleId);
+        titleSpan = ResourceCache.getTextAppearance(this.context, styleId);
         setContentTitle(titleString);
     }
 
     public void setDetailStyling(int styleId) {
-        textSpan = new TextAppearanceSpan(this.context, styleId);
+        textSpan = ResourceCache.getTextAppearance(this.context, styleId);
         setContentText(textString);
     }
 
@@ -217,6 +331,7 @@ class TextDrawer {
 
     public void setContentPaint(TextPaint contentPaint) {
         textPaint.set(contentPaint);
+        textLayoutCache.invalidate();
         if (textString != null) {
             textString.removeSpan(textSpan);
         }
@@ -226,6 +341,7 @@ class TextDrawer {
 
     public void setTitlePaint(TextPaint textPaint) {
         titlePaint.set(textPaint);
+        titleLayoutCache.invalidate();
         if (titleString != null) {
             titleString.removeSpan(titleSpan);
         }
@@ -235,17 +351,16 @@ class TextDrawer {
 
     public void setDetailTextAlignment(Layout.Alignment textAlignment) {
         this.textAlignment = textAlignment;
+        markChanged();
     }
 
     public void setTitleTextAlignment(Layout.Alignment titleTextAlignment) {
         this.titleAlignment = titleTextAlignment;
+        markChanged();
     }
 
     public void forceTextPosition(@ShowcaseView.TextPosition int textPosition) {
-        if (textPosition > ShowcaseView.BELOW_SHOWCASE || textPosition < ShowcaseView.UNDEFINED) {
-            throw new IllegalArgumentException("ShowcaseView text was forced with an invalid position");
-        }
-        forcedTextPosition = textPosition;
+        textPlacement.setForcedPosition(textPosition);
     }
 
     private static class NoOpSpan extends MetricAffectingSpan {
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Draws the ShowcaseView's text in a view of its own. With hardware acceleration, a view's
+ * drawing is recorded and only recorded again when the view is invalidated, so when the
+ * ShowcaseView redraws (such as on every frame of moving the showcase) it reuses the recorded
+ * text rather than drawing the text again. This view is only invalidated when the text changes.
+ */
+class TextLayerView extends View implements ViewTreeObserver.OnPreDrawListener {
+
+    private final TextDrawer textDrawer;
+    private int drawnChangeCount = -1;
+
+    TextLayerView(Context context, TextDrawer textDrawer) {
+        super(context);
+        this.textDrawer = textDrawer;
+        setWillNotDraw(false);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getViewTreeObserver().addOnPreDrawListener(this);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getViewTreeObserver().removeOnPreDrawListener(this);
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    public boolean onPreDraw() {
+        int changeCount = textDrawer.getChangeCount();
+        if (changeCount != drawnChangeCount) {
+            drawnChangeCount = changeCount;
+            invalidate();
+        }
+        return true;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        textDrawer.draw(canvas);
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.text.DynamicLayout;
+import android.text.Editable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+
+/**
+ * Holds the layout of a piece of text, and only lays it out again when something which affects
+ * the layout has changed. Text which can't be edited uses a StaticLayout, which is cheaper than a
+ * DynamicLayout. Editable text uses a DynamicLayout, which reflows itself as the text is edited.
+ */
+class TextLayoutCache {
+
+    private final float spacingMultiplier;
+    private final float spacingAddition;
+
+    private CharSequence text;
+    private TextPaint paint;
+    private int width = -1;
+    private Layout.Alignment alignment;
+    private Layout layout;
+
+    TextLayoutCache(float spacingMultiplier, float spacingAddition) {
+        this.spacingMultiplier = spacingMultiplier;
+        this.spacingAddition = spacingAddition;
+    }
+
+    /**
+     * @return true if {@link #getLayout(CharSequence, TextPaint, int, Layout.Alignment)} can
+     * return without laying out the text
+     */
+    boolean isValid(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment) {
+        if (TextUtils.isEmpty(text)) {
+            return true;
+        }
+        return layout != null && this.text == text && this.paint == paint
+                && this.width == width && this.alignment == alignment;
+    }
+
+    /**
+     * @return the layout of the text, or null if there is no text
+     */
+    Layout getLayout(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment) {
+        if (TextUtils.isEmpty(text)) {
+            invalidate();
+            return null;
+        }
+        if (!isValid(text, paint, width, alignment)) {
+            put(text, paint, width, alignment, createLayout(text, paint, width, alignment));
+        }
+        return layout;
+    }
+
+    /**
+     * Lay out text without caching it. This can be called from any thread, as long as the
+     * text and paint aren't being changed at the same time.
+     *
+     * @return the layout of the text, or null if there is no text
+     */
+    Layout createLayout(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment) {
+        if (TextUtils.isEmpty(text)) {
+            return null;
+        }
+        if (text instanceof Editable) {
+            return new DynamicLayout(text, paint, width, alignment, spacingMultiplier, spacingAddition, true);
+        }
+        return new StaticLayout(text, paint, width, alignment, spacingMultiplier, spacingAddition, true);
+    }
+
+    /**
+     * Cache a layout made by {@link #createLayout(CharSequence, TextPaint, int, Layout.Alignment)}
+     */
+    void put(CharSequence text, TextPaint paint, int width, Layout.Alignment alignment, Layout layout) {
+        if (layout == null) {
+            return;
+        }
+        this.layout = layout;
+        this.text = text;
+        this.paint = paint;
+        this.width = width;
+        this.alignment = alignment;
+    }
+
+    /**
+     * Forget the current layout, for example because the paint has been changed
+     */
+    void invalidate() {
+        layout = null;
+        text = null;
+    }
+
+}
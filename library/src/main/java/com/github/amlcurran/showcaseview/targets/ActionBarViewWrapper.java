@@ -20,7 +20,6 @@ import android.util.Log;
 import android.view.View;
 import android.view.ViewParent;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -33,6 +32,8 @@ class ActionBarViewWrapper {
     private ViewParent mActionBarView;
     private Class mActionBarViewClass;
     private Class mAbsActionBarViewClass;
+    private Class<?> mMenuViewClass;
+    private Class<?> mMenuChildrenClass;
 
     public ActionBarViewWrapper(ViewParent actionBarView) {
         if (!actionBarView.getClass().getName().contains("ActionBarView")) {
@@ -54,11 +55,7 @@ class ActionBarViewWrapper {
      */
     public View getSpinnerView() {
         try {
-            Field spinnerField = mActionBarViewClass.getDeclaredField("mSpinner");
-            spinnerField.setAccessible(true);
-            return (View) spinnerField.get(mActionBarView);
-        } catch (NoSuchFieldException e) {
-            Log.e("TAG", "Failed to find actionbar spinner", e);
+            return (View) FieldCache.getValue(mActionBarViewClass, "mSpinner", mActionBarView);
         } catch (IllegalAccessException e) {
             Log.e("TAG", "Failed to access actionbar spinner", e);
         }
@@ -70,11 +67,7 @@ class ActionBarViewWrapper {
      */
     public View getTitleView() {
         try {
-            Field mTitleViewField = mActionBarViewClass.getDeclaredField("mTitleView");
-            mTitleViewField.setAccessible(true);
-            return (View) mTitleViewField.get(mActionBarView);
-        } catch (NoSuchFieldException e) {
-            Log.e("TAG", "Failed to find actionbar title", e);
+            return (View) FieldCache.getValue(mActionBarViewClass, "mTitleView", mActionBarView);
         } catch (IllegalAccessException e) {
             Log.e("TAG", "Failed to access actionbar title", e);
         }
@@ -86,16 +79,13 @@ class ActionBarViewWrapper {
      */
     public View getOverflowView() {
         try {
-            Field actionMenuPresenterField = mAbsActionBarViewClass.getDeclaredField("mActionMenuPresenter");
-            actionMenuPresenterField.setAccessible(true);
-            Object actionMenuPresenter = actionMenuPresenterField.get(mActionBarView);
-            Field overflowButtonField = actionMenuPresenter.getClass().getDeclaredField("mOverflowButton");
-            overflowButtonField.setAccessible(true);
-            return (View) overflowButtonField.get(actionMenuPresenter);
+            Object actionMenuPresenter = FieldCache.getValue(mAbsActionBarViewClass, "mActionMenuPresenter", mActionBarView);
+            if (actionMenuPresenter == null) {
+                return null;
+            }
+            return (View) FieldCache.getValue(actionMenuPresenter.getClass(), "mOverflowButton", actionMenuPresenter);
         } catch (IllegalAccessException e) {
             e.printStackTrace();
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
         }
         return null;
     }
@@ -106,19 +96,15 @@ class ActionBarViewWrapper {
      */
     public View getMediaRouterButtonView() {
         try {
-            Field actionMenuPresenterField =
-                    mActionBarViewClass.getDeclaredField("mOptionsMenu");
-            actionMenuPresenterField.setAccessible(true);
-            Object optionsMenu = actionMenuPresenterField.get(mActionBarView);
-
-            Field actionItemsField = optionsMenu.getClass().getDeclaredField("mActionItems");
-            actionItemsField.setAccessible(true);
+            Object optionsMenu = FieldCache.getValue(mActionBarViewClass, "mOptionsMenu", mActionBarView);
+            if (optionsMenu == null) {
+                return null;
+            }
 
-            List actionItems = (ArrayList) actionItemsField.get(optionsMenu);
+            List actionItems = (ArrayList) FieldCache.getValue(optionsMenu.getClass(), "mActionItems", optionsMenu);
             if (null != actionItems) {
-                for(Object obj : actionItems) {
-                    System.out.println(obj);
-                    Object view = getMediaRouteButton(obj);
+                for (int i = 0; i < actionItems.size(); i++) {
+                    Object view = getMediaRouteButton(actionItems.get(i));
                     if (null != view) {
                         return (View) view;
                     }
@@ -128,22 +114,16 @@ class ActionBarViewWrapper {
             return null;
         } catch (IllegalAccessException e) {
             e.printStackTrace();
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
         }
         return null;
     }
     
     private Object getMediaRouteButton(Object obj) {
         try {
-            Field f = obj.getClass().getDeclaredField("mActionView");
-            f.setAccessible(true);
-            Object view = f.get(obj);
-            if("android.support.v7.app.MediaRouteButton".equals(view.getClass().getName())) {
+            Object view = FieldCache.getValue(obj.getClass(), "mActionView", obj);
+            if(view != null && "android.support.v7.app.MediaRouteButton".equals(view.getClass().getName())) {
                 return view;
             }
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
         } catch (IllegalAccessException e) {
             e.printStackTrace();
         }
@@ -152,30 +132,23 @@ class ActionBarViewWrapper {
 
     public View getActionItem(int actionItemId) {
         try {
-            Field actionMenuPresenterField = mAbsActionBarViewClass.getDeclaredField("mActionMenuPresenter");
-            actionMenuPresenterField.setAccessible(true);
-            Object actionMenuPresenter = actionMenuPresenterField.get(mActionBarView);
-
-            Field menuViewField = actionMenuPresenter.getClass().getSuperclass().getDeclaredField("mMenuView");
-            menuViewField.setAccessible(true);
-            Object menuView = menuViewField.get(actionMenuPresenter);
-
-            Field mChField;
-            if (menuView.getClass().toString().contains("com.actionbarsherlock")) {
-                // There are thousands of superclasses to traverse up
-                // Have to get superclasses because mChildren is private
-                mChField = menuView.getClass().getSuperclass().getSuperclass()
-                        .getSuperclass().getSuperclass().getDeclaredField("mChildren");
-            } else if (menuView.getClass().toString().contains("android.support.v7")) {
-                mChField = menuView.getClass().getSuperclass().getSuperclass()
-                        .getSuperclass().getDeclaredField("mChildren");
-            } else {
-                mChField = menuView.getClass().getSuperclass().getSuperclass()
-                        .getDeclaredField("mChildren");
+            Object actionMenuPresenter = FieldCache.getValue(mAbsActionBarViewClass, "mActionMenuPresenter", mActionBarView);
+            if (actionMenuPresenter == null) {
+                return null;
+            }
+
+            Object menuView = FieldCache.getValue(actionMenuPresenter.getClass().getSuperclass(), "mMenuView", actionMenuPresenter);
+            if (menuView == null) {
+                return null;
             }
-            mChField.setAccessible(true);
-            Object[] mChs = (Object[]) mChField.get(menuView);
-            for (Object mCh : mChs) {
+
+            Class<?> childrenClass = getMenuChildrenClass(menuView.getClass());
+            Object[] mChs = (Object[]) FieldCache.getValue(childrenClass, "mChildren", menuView);
+            if (mChs == null) {
+                return null;
+            }
+            for (int i = 0; i < mChs.length; i++) {
+                Object mCh = mChs[i];
                 if (mCh != null) {
                     View v = (View) mCh;
                     if (v.getId() == actionItemId) {
@@ -185,10 +158,33 @@ class ActionBarViewWrapper {
             }
         } catch (IllegalAccessException e) {
             e.printStackTrace();
-        } catch (NoSuchFieldException e) {
-            e.printStackTrace();
         }
         return null;
     }
 
+    /**
+     * Find the class which declares mChildren for a menu view. The menu view is kept for the life
+     * of the action bar, so this is only worked out once rather than on every lookup.
+     */
+    private Class<?> getMenuChildrenClass(Class<?> menuViewClass) {
+        if (menuViewClass == mMenuViewClass) {
+            return mMenuChildrenClass;
+        }
+        Class<?> childrenClass;
+        if (menuViewClass.getName().contains("com.actionbarsherlock")) {
+            // There are thousands of superclasses to traverse up
+            // Have to get superclasses because mChildren is private
+            childrenClass = menuViewClass.getSuperclass().getSuperclass()
+                    .getSuperclass().getSuperclass();
+        } else if (menuViewClass.getName().contains("android.support.v7")) {
+            childrenClass = menuViewClass.getSuperclass().getSuperclass()
+                    .getSuperclass();
+        } else {
+            childrenClass = menuViewClass.getSuperclass().getSuperclass();
+        }
+        mMenuViewClass = menuViewClass;
+        mMenuChildrenClass = childrenClass;
+        return childrenClass;
+    }
+
 }
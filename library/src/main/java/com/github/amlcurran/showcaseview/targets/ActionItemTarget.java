@@ -18,6 +18,7 @@ package com.github.amlcurran.showcaseview.targets;
 
 import android.app.Activity;
 import android.graphics.Point;
+import android.graphics.Rect;
 import android.view.ViewParent;
 
 /**
@@ -26,10 +27,11 @@ import android.view.ViewParent;
  *
  * @see com.github.amlcurran.showcaseview.targets.ActionItemTarget
  */
-public class ActionItemTarget implements Target {
+public class ActionItemTarget implements ReusablePointTarget {
 
     private final Activity mActivity;
     private final int mItemId;
+    private final int[] location = new int[2];
 
     ActionBarViewWrapper mActionBarWrapper;
 
@@ -40,14 +42,36 @@ public class ActionItemTarget implements Target {
 
     @Override
     public Point getPoint() {
-        setUp();
+        ensureSetUp();
         return new ViewTarget(mActionBarWrapper.getActionItem(mItemId)).getPoint();
     }
 
+    @Override
+    public boolean getPoint(Point outPoint) {
+        ensureSetUp();
+        return ViewTarget.getCentre(mActionBarWrapper.getActionItem(mItemId), location, outPoint);
+    }
+
+    @Override
+    public boolean getBounds(Rect outBounds) {
+        ensureSetUp();
+        return ViewTarget.getBounds(mActionBarWrapper.getActionItem(mItemId), location, outBounds);
+    }
+
     protected void setUp() {
         Reflector reflector = ReflectorFactory.getReflectorForActivity(mActivity);
         ViewParent p = reflector.getActionBarView(); //ActionBarView
         mActionBarWrapper = new ActionBarViewWrapper(p);
     }
 
+    /**
+     * The action bar is found once and then reused, so that finding the item again on every
+     * frame (such as when tracking) doesn't allocate
+     */
+    private void ensureSetUp() {
+        if (mActionBarWrapper == null) {
+            setUp();
+        }
+    }
+
 }
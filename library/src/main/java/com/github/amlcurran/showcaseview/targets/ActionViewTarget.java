@@ -18,12 +18,15 @@ package com.github.amlcurran.showcaseview.targets;
 
 import android.app.Activity;
 import android.graphics.Point;
+import android.graphics.Rect;
+import android.view.View;
 import android.view.ViewParent;
 
-public class ActionViewTarget implements Target {
+public class ActionViewTarget implements ReusablePointTarget {
 
     private final Activity mActivity;
     private final Type mType;
+    private final int[] location = new int[2];
 
     ActionBarViewWrapper mActionBarWrapper;
     Reflector mReflector;
@@ -39,34 +42,52 @@ public class ActionViewTarget implements Target {
         mActionBarWrapper = new ActionBarViewWrapper(p);
     }
 
+    /**
+     * The action bar is found once and then reused, so that finding the view again on every
+     * frame (such as when tracking) doesn't allocate
+     */
+    private void ensureSetUp() {
+        if (mActionBarWrapper == null) {
+            setUp();
+        }
+    }
+
     @Override
     public Point getPoint() {
-        Target internal = null;
-        setUp();
+        return new ViewTarget(findView()).getPoint();
+    }
+
+    @Override
+    public boolean getPoint(Point outPoint) {
+        return ViewTarget.getCentre(findView(), location, outPoint);
+    }
+
+    @Override
+    public boolean getBounds(Rect outBounds) {
+        return ViewTarget.getBounds(findView(), location, outBounds);
+    }
+
+    private View findView() {
+        ensureSetUp();
         switch (mType) {
 
             case SPINNER:
-                internal = new ViewTarget(mActionBarWrapper.getSpinnerView());
-                break;
+                return mActionBarWrapper.getSpinnerView();
 
             case HOME:
-                internal = new ViewTarget(mReflector.getHomeButton());
-                break;
+                return mReflector.getHomeButton();
 
             case OVERFLOW:
-                internal = new ViewTarget(mActionBarWrapper.getOverflowView());
-                break;
+                return mActionBarWrapper.getOverflowView();
 
             case TITLE:
-                internal = new ViewTarget(mActionBarWrapper.getTitleView());
-                break;
-                
+                return mActionBarWrapper.getTitleView();
+
             case MEDIA_ROUTE_BUTTON:
-                internal = new ViewTarget(mActionBarWrapper.getMediaRouterButtonView());
-                break;
+                return mActionBarWrapper.getMediaRouterButtonView();
 
         }
-        return internal.getPoint();
+        return null;
     }
 
     public enum Type {
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.targets;
+
+import android.util.Log;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the private fields which are found by reflection, so that each field is
+ * only searched for (and made accessible) once per class. Fields which don't exist are cached too.
+ */
+class FieldCache {
+
+    private static final Object NO_FIELD = new Object();
+    private static final Map<Class<?>, Map<String, Object>> fields = new HashMap<Class<?>, Map<String, Object>>();
+
+    /**
+     * @return the accessible field declared by the class, or null if there isn't one
+     */
+    static synchronized Field getDeclaredField(Class<?> declaringClass, String name) {
+        Map<String, Object> classFields = fields.get(declaringClass);
+        if (classFields == null) {
+            classFields = new HashMap<String, Object>();
+            fields.put(declaringClass, classFields);
+        }
+        Object field = classFields.get(name);
+        if (field == null) {
+            field = findField(declaringClass, name);
+            classFields.put(name, field);
+        }
+        return field == NO_FIELD ? null : (Field) field;
+    }
+
+    /**
+     * @return the value of the field declared by the class, or null if there is no such field
+     */
+    static Object getValue(Class<?> declaringClass, String name, Object instance) throws IllegalAccessException {
+        Field field = getDeclaredField(declaringClass, name);
+        return field == null ? null : field.get(instance);
+    }
+
+    private static Object findField(Class<?> declaringClass, String name) {
+        try {
+            Field field = declaringClass.getDeclaredField(name);
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException e) {
+            Log.e("TAG", "Failed to find " + name + " in " + declaringClass.getName(), e);
+            return NO_FIELD;
+        }
+    }
+
+}
@@ -17,11 +17,12 @@
 package com.github.amlcurran.showcaseview.targets;
 
 import android.graphics.Point;
+import android.graphics.Rect;
 
 /**
  * Showcase a specific x/y co-ordinate on the screen.
  */
-public class PointTarget implements Target {
+public class PointTarget implements ReusablePointTarget {
 
     private final Point mPoint;
 
@@ -37,4 +38,16 @@ public class PointTarget implements Target {
     public Point getPoint() {
         return mPoint;
     }
+
+    @Override
+    public boolean getPoint(Point outPoint) {
+        outPoint.set(mPoint.x, mPoint.y);
+        return true;
+    }
+
+    @Override
+    public boolean getBounds(Rect outBounds) {
+        outBounds.set(mPoint.x, mPoint.y, mPoint.x, mPoint.y);
+        return true;
+    }
 }
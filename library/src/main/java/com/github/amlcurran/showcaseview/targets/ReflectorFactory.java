@@ -18,11 +18,17 @@ package com.github.amlcurran.showcaseview.targets;
 
 import android.app.Activity;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Base class which uses reflection to determine how to showcase Action Items and Action Views.
  */
 class ReflectorFactory {
 
+    private static final Map<Class<?>, Reflector.ActionBarType> activityTypes =
+            new HashMap<Class<?>, Reflector.ActionBarType>();
+
     public static Reflector getReflectorForActivity(Activity activity) {
         switch (searchForActivitySuperClass(activity)) {
             case STANDARD:
@@ -35,8 +41,17 @@ class ReflectorFactory {
         return null;
     }
 
-    private static Reflector.ActionBarType searchForActivitySuperClass(Activity activity) {
-        Class currentLevel = activity.getClass();
+    private static synchronized Reflector.ActionBarType searchForActivitySuperClass(Activity activity) {
+        Reflector.ActionBarType type = activityTypes.get(activity.getClass());
+        if (type == null) {
+            type = searchForActivitySuperClass(activity.getClass());
+            activityTypes.put(activity.getClass(), type);
+        }
+        return type;
+    }
+
+    private static Reflector.ActionBarType searchForActivitySuperClass(Class activityClass) {
+        Class currentLevel = activityClass;
         while (currentLevel != Activity.class) {
             if (currentLevel.getSimpleName().equals("SherlockActivity") || currentLevel.getSimpleName().equals("SherlockFragmentActivity")) {
                 return Reflector.ActionBarType.ACTIONBAR_SHERLOCK;
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.targets;
+
+import android.graphics.Point;
+import android.graphics.Rect;
+
+/**
+ * A {@link Target} which writes its position and bounds into objects supplied by the caller,
+ * rather than allocating a new {@link Point} each time. This makes it cheap enough to resolve on
+ * every frame.
+ */
+public interface ReusablePointTarget extends Target {
+
+    /**
+     * Write the centre of the target, in the window's co-ordinates, into outPoint
+     *
+     * @return false if the target couldn't be found, in which case outPoint is unchanged
+     */
+    boolean getPoint(Point outPoint);
+
+    /**
+     * Write the area covered by the target, in the window's co-ordinates, into outBounds
+     *
+     * @return false if the target couldn't be found, in which case outBounds is unchanged
+     */
+    boolean getBounds(Rect outBounds);
+
+}
@@ -17,12 +17,28 @@
 package com.github.amlcurran.showcaseview.targets;
 
 import android.graphics.Point;
+import android.graphics.Rect;
 
 public interface Target {
-    Target NONE = new Target() {
+    Target NONE = new ReusablePointTarget() {
+        // Shared rather than created on every call. Callers shouldn't modify it.
+        private final Point offscreen = new Point(1000000, 1000000);
+
         @Override
         public Point getPoint() {
-            return new Point(1000000, 1000000);
+            return offscreen;
+        }
+
+        @Override
+        public boolean getPoint(Point outPoint) {
+            outPoint.set(1000000, 1000000);
+            return true;
+        }
+
+        @Override
+        public boolean getBounds(Rect outBounds) {
+            outBounds.set(1000000, 1000000, 1000000, 1000000);
+            return true;
         }
     };
 
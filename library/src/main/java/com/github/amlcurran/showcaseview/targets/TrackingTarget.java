@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview.targets;
+
+/**
+ * A {@link Target} which can report when its position changes, so that the showcase can follow
+ * it as it moves
+ */
+public interface TrackingTarget extends Target {
+
+    /**
+     * Start reporting changes to the position of the target. Only one listener is tracked at a
+     * time, so this replaces any existing listener.
+     */
+    void startTracking(OnTargetMovedListener listener);
+
+    /**
+     * Stop reporting changes to the position of the target
+     */
+    void stopTracking();
+
+    interface OnTargetMovedListener {
+
+        /**
+         * Called when the position of the target has changed, with the new position in the
+         * window's co-ordinates (the same as {@link Target#getPoint()})
+         */
+        void onTargetMoved(int x, int y);
+
+    }
+
+}
@@ -18,14 +18,21 @@ package com.github.amlcurran.showcaseview.targets;
 
 import android.app.Activity;
 import android.graphics.Point;
+import android.graphics.Rect;
 import android.view.View;
+import android.view.ViewTreeObserver;
 
 /**
  * Target a view on the screen. This will centre the target on the view.
  */
-public class ViewTarget implements Target {
+public class ViewTarget implements TrackingTarget, ReusablePointTarget {
 
     private final View mView;
+    private final int[] location = new int[2];
+    private OnTargetMovedListener onTargetMovedListener;
+    private ViewTreeObserver viewTreeObserver;
+    private int lastX;
+    private int lastY;
 
     public ViewTarget(View view) {
         mView = view;
@@ -43,4 +50,95 @@ public class ViewTarget implements Target {
         int y = location[1] + mView.getHeight() / 2;
         return new Point(x, y);
     }
+
+    @Override
+    public boolean getPoint(Point outPoint) {
+        return getCentre(mView, location, outPoint);
+    }
+
+    @Override
+    public boolean getBounds(Rect outBounds) {
+        return getBounds(mView, location, outBounds);
+    }
+
+    /**
+     * Write the centre of a view into outPoint, using location as scratch space
+     */
+    static boolean getCentre(View view, int[] location, Point outPoint) {
+        if (view == null) {
+            return false;
+        }
+        view.getLocationInWindow(location);
+        outPoint.set(location[0] + view.getWidth() / 2, location[1] + view.getHeight() / 2);
+        return true;
+    }
+
+    /**
+     * Write the area covered by a view into outBounds, using location as scratch space
+     */
+    static boolean getBounds(View view, int[] location, Rect outBounds) {
+        if (view == null) {
+            return false;
+        }
+        view.getLocationInWindow(location);
+        outBounds.set(location[0], location[1], location[0] + view.getWidth(), location[1] + view.getHeight());
+        return true;
+    }
+
+    /**
+     * @return true if the view is attached to a window and has been laid out with a non-zero size
+     */
+    public boolean isReady() {
+        return mView != null && mView.getWindowToken() != null && mView.getWidth() > 0 && mView.getHeight() > 0;
+    }
+
+    @Override
+    public void startTracking(OnTargetMovedListener listener) {
+        stopTracking();
+        if (mView == null) {
+            return;
+        }
+        onTargetMovedListener = listener;
+        updateLastPosition();
+        viewTreeObserver = mView.getViewTreeObserver();
+        viewTreeObserver.addOnPreDrawListener(preDrawListener);
+    }
+
+    @Override
+    public void stopTracking() {
+        if (viewTreeObserver != null) {
+            ViewTreeObserver observer = viewTreeObserver.isAlive() ? viewTreeObserver : mView.getViewTreeObserver();
+            observer.removeOnPreDrawListener(preDrawListener);
+            viewTreeObserver = null;
+        }
+        onTargetMovedListener = null;
+    }
+
+    private boolean updateLastPosition() {
+        mView.getLocationInWindow(location);
+        int x = location[0] + mView.getWidth() / 2;
+        int y = location[1] + mView.getHeight() / 2;
+        boolean hasMoved = x != lastX || y != lastY;
+        lastX = x;
+        lastY = y;
+        return hasMoved;
+    }
+
+    private void checkForMove() {
+        if (updateLastPosition() && onTargetMovedListener != null) {
+            onTargetMovedListener.onTargetMoved(lastX, lastY);
+        }
+    }
+
+    /**
+     * Pre-draw is dispatched once a frame, after any scrolling or layout which could have moved
+     * the view, so the position is worked out once per frame
+     */
+    private final ViewTreeObserver.OnPreDrawListener preDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+            checkForMove();
+            return true;
+        }
+    };
 }
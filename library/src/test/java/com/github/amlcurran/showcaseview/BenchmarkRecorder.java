@@ -0,0 +1,112 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs an operation repeatedly, recording the wall time, bytes allocated and bitmaps created per
+ * run, and writes the results as a JSON report. Bitmaps are counted by
+ * {@link CountingBitmapShadow}, so the test must run with it as a shadow.
+ */
+class BenchmarkRecorder {
+
+    private static final int WARMUP_ITERATIONS = 3;
+
+    private final String suiteName;
+    private final int iterations;
+    private final List<String> results = new ArrayList<String>();
+
+    BenchmarkRecorder(String suiteName) {
+        this.suiteName = suiteName;
+        this.iterations = Integer.getInteger("showcaseview.benchmark.iterations", 20);
+    }
+
+    interface Operation {
+
+        void run(int iteration);
+
+    }
+
+    /**
+     * @return the number of bitmaps created by the measured runs, not including the warm up
+     */
+    int measure(String name, Operation operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run(i);
+        }
+
+        int bitmapsBefore = CountingBitmapShadow.getCreatedCount();
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run(i);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long bytesAfter = allocatedBytes();
+        int bitmaps = CountingBitmapShadow.getCreatedCount() - bitmapsBefore;
+
+        long bytesPerOp = bytesBefore < 0 || bytesAfter < 0 ? -1 : (bytesAfter - bytesBefore) / iterations;
+        results.add(String.format(Locale.US,
+                "{\"name\":\"%s\",\"iterations\":%d,\"nanosPerOp\":%d,\"bytesPerOp\":%d,\"bitmapsPerOp\":%.3f}",
+                name, iterations, elapsedNanos / iterations, bytesPerOp, bitmaps / (float) iterations));
+        return bitmaps;
+    }
+
+    /**
+     * Write the results to showcaseview.benchmark.reportDir, as a JSON file named after the suite
+     */
+    void writeReport() throws IOException {
+        File reportDir = new File(System.getProperty("showcaseview.benchmark.reportDir", "build/reports/render-benchmarks"));
+        if (!reportDir.isDirectory() && !reportDir.mkdirs()) {
+            throw new IOException("Couldn't create " + reportDir);
+        }
+        Writer writer = new FileWriter(new File(reportDir, suiteName + ".json"));
+        try {
+            writer.write("{\"suite\":\"" + suiteName + "\",\"results\":[");
+            for (int i = 0; i < results.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(results.get(i));
+            }
+            writer.write("]}");
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * @return the bytes allocated by this thread so far, or -1 if the JVM can't report it
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+}
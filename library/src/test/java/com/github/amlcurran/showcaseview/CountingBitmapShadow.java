@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.graphics.Bitmap;
+
+import org.robolectric.annotation.Implementation;
+import org.robolectric.annotation.Implements;
+import org.robolectric.shadows.ShadowBitmap;
+
+/**
+ * Counts every bitmap created through Bitmap#createBitmap, whichever part of the library
+ * created it, so benchmarks can report allocations at their source
+ */
+@Implements(Bitmap.class)
+public class CountingBitmapShadow extends ShadowBitmap {
+
+    private static int createdCount;
+
+    @Implementation
+    public static Bitmap createBitmap(int width, int height, Bitmap.Config config) {
+        createdCount++;
+        return ShadowBitmap.createBitmap(width, height, config);
+    }
+
+    static int getCreatedCount() {
+        return createdCount;
+    }
+
+}
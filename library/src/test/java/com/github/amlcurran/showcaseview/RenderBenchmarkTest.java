@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 Alex Curran
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.amlcurran.showcaseview;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.github.amlcurran.showcaseview.targets.PointTarget;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives the costly paths of a real ShowcaseView at common screen sizes, and reports how long
+ * each takes and how much it allocates. Reports are written to build/reports/render-benchmarks.
+ * Once warmed up, drawing a frame must not create any bitmaps.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21, shadows = CountingBitmapShadow.class)
+public class RenderBenchmarkTest {
+
+    private static final int[][] SCREEN_SIZES = {{480, 800}, {1080, 1920}, {1440, 2560}};
+    private static final String[] DRAWERS = {"holo", "new_style", "material"};
+    private static final int[] RENDERING_MODES = {ShowcaseView.RENDERING_BUFFERED, ShowcaseView.RENDERING_ALPHA_MASK};
+    private static final String[] RENDERING_MODE_NAMES = {"buffered", "alpha_mask"};
+    private static final String TITLE = "Showcase title";
+    private static final String TEXT = "Some longer explanatory text, which is long enough that it has to wrap over several lines";
+
+    private Activity activity;
+    private BenchmarkRecorder recorder;
+
+    @Before
+    public void setUp() {
+        activity = Robolectric.buildActivity(Activity.class).create().start().resume().visible().get();
+        BitmapPool.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (recorder != null) {
+            recorder.writeReport();
+        }
+    }
+
+    @Test
+    public void build() {
+        recorder = new BenchmarkRecorder("build");
+        for (final String drawer : DRAWERS) {
+            recorder.measure(drawer, new BenchmarkRecorder.Operation() {
+                @Override
+                public void run(int iteration) {
+                    remove(createBuilder(drawer).build());
+                }
+            });
+        }
+    }
+
+    @Test
+    public void dispatchDraw() {
+        recorder = new BenchmarkRecorder("dispatchDraw");
+        for (String drawer : DRAWERS) {
+            for (int mode = 0; mode < RENDERING_MODES.length; mode++) {
+                for (int[] size : SCREEN_SIZES) {
+                    final ShowcaseView showcaseView = createBuilder(drawer)
+                            .setRenderingMode(RENDERING_MODES[mode])
+                            .build();
+                    final int width = size[0];
+                    final int height = size[1];
+                    layout(showcaseView, width, height);
+                    final Canvas canvas = new Canvas(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+                    String name = drawer + "/" + RENDERING_MODE_NAMES[mode] + "/" + width + "x" + height;
+
+                    int movingBitmaps = recorder.measure(name + "/moving", new BenchmarkRecorder.Operation() {
+                        @Override
+                        public void run(int iteration) {
+                            showcaseView.setShowcasePosition(width / 2 + iteration % 2 * 10, height / 2);
+                            showcaseView.draw(canvas);
+                        }
+                    });
+                    int staticBitmaps = recorder.measure(name + "/static", new BenchmarkRecorder.Operation() {
+                        @Override
+                        public void run(int iteration) {
+                            showcaseView.invalidate();
+                            showcaseView.draw(canvas);
+                        }
+                    });
+                    assertEquals(name + "/moving created bitmaps", 0, movingBitmaps);
+                    assertEquals(name + "/static created bitmaps", 0, staticBitmaps);
+                    remove(showcaseView);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void textLayout() {
+        recorder = new BenchmarkRecorder("textLayout");
+        for (int[] size : SCREEN_SIZES) {
+            final int width = size[0];
+            final int height = size[1];
+            final TextDrawer textDrawer = new TextDrawer(activity.getResources(), activity);
+            textDrawer.setTitleStyling(R.style.TextAppearance_ShowcaseView_Title);
+            textDrawer.setDetailStyling(R.style.TextAppearance_ShowcaseView_Detail);
+            textDrawer.setContentTitle(TITLE);
+            textDrawer.setContentText(TEXT);
+            final Rect showcase = new Rect(width / 2 - 100, height / 4 - 100, width / 2 + 100, height / 4 + 100);
+            final Canvas canvas = new Canvas(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+
+            recorder.measure(width + "x" + height, new BenchmarkRecorder.Operation() {
+                @Override
+                public void run(int iteration) {
+                    textDrawer.calculateTextPosition(width, height, false, showcase);
+                    textDrawer.draw(canvas);
+                }
+            });
+        }
+    }
+
+    @Test
+    public void showAndHide() {
+        recorder = new BenchmarkRecorder("showAndHide");
+        for (final String drawer : DRAWERS) {
+            recorder.measure(drawer, new BenchmarkRecorder.Operation() {
+                @Override
+                public void run(int iteration) {
+                    ShowcaseView showcaseView = createBuilder(drawer).build();
+                    layout(showcaseView, 1080, 1920);
+                    showcaseView.hide();
+                    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+                    remove(showcaseView);
+                }
+            });
+        }
+    }
+
+    private ShowcaseView.Builder createBuilder(String drawer) {
+        ShowcaseView.Builder builder = new ShowcaseView.Builder(activity)
+                .setTarget(new PointTarget(300, 300))
+                .setContentTitle(TITLE)
+                .setContentText(TEXT);
+        if ("new_style".equals(drawer)) {
+            builder.withNewStyleShowcase();
+        } else if ("material".equals(drawer)) {
+            builder.withMaterialShowcase();
+        } else {
+            builder.withHoloShowcase();
+        }
+        return builder;
+    }
+
+    /**
+     * Lay the view out at the given size, and let the target resolve against that layout
+     */
+    private static void layout(ShowcaseView showcaseView, int width, int height) {
+        showcaseView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        showcaseView.layout(0, 0, width, height);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+    }
+
+    private static void remove(ShowcaseView showcaseView) {
+        ViewGroup parent = (ViewGroup) showcaseView.getParent();
+        if (parent != null) {
+            parent.removeView(showcaseView);
+        }
+    }
+
+}